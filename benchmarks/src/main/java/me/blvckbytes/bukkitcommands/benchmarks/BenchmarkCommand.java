@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.benchmarks;
+
+import me.blvckbytes.bukkitcommands.BukkitCommand;
+import me.blvckbytes.bukkitcommands.ICommandConfigProvider;
+import me.blvckbytes.bukkitcommands.ParseResult;
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Command which parses a material and an amount, exposing the protected helpers to the benchmarks
+ */
+public class BenchmarkCommand extends BukkitCommand {
+
+  public BenchmarkCommand(ICommandConfigProvider configProvider) {
+    super(configProvider, Logger.getLogger("BenchmarkCommand"));
+  }
+
+  @Override
+  protected void onInvocation(CommandSender sender, String alias, String[] args) {
+    Material material = enumParameter(args, 0, Material.class);
+    int amount = primitiveIntParameter(args, 1);
+
+    if (material.ordinal() + amount < 0)
+      sender.sendMessage("unreachable");
+  }
+
+  @Override
+  protected List<String> onTabComplete(CommandSender sender, String alias, String[] args) {
+    if (args.length == 1)
+      return enumCompletions(args, 0, Material.class, 32);
+
+    return EMPTY_STRING_LIST;
+  }
+
+  public Integer integer(String[] args) {
+    return integerParameter(args, 0);
+  }
+
+  public int primitiveInt(String[] args) {
+    return primitiveIntParameter(args, 0);
+  }
+
+  public ParseResult<?> tryPrimitiveInt(String[] args, ParseResult<?> result) {
+    return tryPrimitiveIntParameter(args, 0, result);
+  }
+
+  public Long longValue(String[] args) {
+    return longParameter(args, 0);
+  }
+
+  public long primitiveLong(String[] args) {
+    return primitiveLongParameter(args, 0);
+  }
+
+  public Double doubleValue(String[] args) {
+    return doubleParameter(args, 0);
+  }
+
+  public double primitiveDouble(String[] args) {
+    return primitiveDoubleParameter(args, 0);
+  }
+
+  public Float floatValue(String[] args) {
+    return floatParameter(args, 0);
+  }
+
+  public float primitiveFloat(String[] args) {
+    return primitiveFloatParameter(args, 0);
+  }
+
+  public ParseResult<?> tryPrimitiveDouble(String[] args, ParseResult<?> result) {
+    return tryPrimitiveDoubleParameter(args, 0, result);
+  }
+
+  public UUID uuid(String[] args) {
+    return uuidParameter(args, 0);
+  }
+
+  public ParseResult<UUID> tryUuid(String[] args, ParseResult<UUID> result) {
+    return tryUuidParameter(args, 0, result);
+  }
+
+  public Material material(String[] args) {
+    return enumParameter(args, 0, Material.class);
+  }
+
+  public ParseResult<Material> tryMaterial(String[] args, ParseResult<Material> result) {
+    return tryEnumParameter(args, 0, Material.class, result);
+  }
+
+  public List<String> materialCompletions(String[] args) {
+    return enumCompletions(args, 0, Material.class);
+  }
+
+  public Player player(String[] args) {
+    return playerParameter(args, 0);
+  }
+
+  public OfflinePlayer offlinePlayer(String[] args) {
+    return offlinePlayerParameter(args, 0, true);
+  }
+
+  public Integer integerOrElse(String[] args) {
+    return integerParameterOrElse(args, 0, -1);
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.benchmarks;
+
+import me.blvckbytes.bukkitcommands.testsupport.StandIns;
+import org.bukkit.command.CommandSender;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the full execute and tabComplete dispatch, including error handling and message delivery
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+  private final String[] validArgs = { "stone", "64" };
+  private final String[] malformedArgs = { "stone", "many" };
+  private final String[] missingArgs = { "stone" };
+  private final String[] completionArgs = { "st" };
+
+  private BenchmarkCommand command;
+  private CommandSender sender;
+
+  @Setup
+  public void setup() {
+    StandIns.installServer();
+    command = new BenchmarkCommand(StandIns.commandSection("benchmark"));
+    sender = StandIns.commandSender("BenchmarkSender");
+  }
+
+  @Benchmark
+  public boolean executeValid() {
+    return command.execute(sender, "benchmark", validArgs);
+  }
+
+  @Benchmark
+  public boolean executeMalformed() {
+    return command.execute(sender, "benchmark", malformedArgs);
+  }
+
+  @Benchmark
+  public boolean executeMissing() {
+    return command.execute(sender, "benchmark", missingArgs);
+  }
+
+  @Benchmark
+  public List<String> tabComplete() {
+    return command.tabComplete(sender, "benchmark", completionArgs);
+  }
+}
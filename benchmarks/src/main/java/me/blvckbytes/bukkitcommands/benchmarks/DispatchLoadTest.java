@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.benchmarks;
+
+import me.blvckbytes.bukkitcommands.testsupport.*;
+
+import java.util.logging.Logger;
+
+/**
+ * Replays a mix of valid, malformed and completing calls from thousands of simulated players, as a rough
+ * estimate of a command's capacity. Arguments: [threads] [players] [seconds]
+ */
+public class DispatchLoadTest {
+
+  private static final Logger logger = Logger.getLogger("DispatchLoadTest");
+
+  public static void main(String[] args) throws InterruptedException {
+    int threadCount = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+    int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+    long durationSeconds = args.length > 2 ? Long.parseLong(args[2]) : 10;
+
+    StandInServer server = StandIns.installServer();
+    BenchmarkCommand command = new BenchmarkCommand(StandIns.commandSection("benchmark"));
+
+    LoadStep[] steps = {
+      LoadStep.execute("benchmark", "stone", "64"),
+      LoadStep.execute("benchmark", "dirt", "1"),
+      LoadStep.execute("benchmark", "stone", "many"),
+      LoadStep.execute("benchmark", "ston"),
+      LoadStep.complete("benchmark", "st"),
+      LoadStep.complete("benchmark", ""),
+    };
+
+    // Mostly valid calls, as is to be expected in production
+    int[] weights = { 40, 30, 10, 5, 10, 5 };
+    int[] thresholds = new int[weights.length];
+    int weightSum = 0;
+
+    for (int index = 0; index < weights.length; index++)
+      thresholds[index] = (weightSum += weights[index]);
+
+    int totalWeight = weightSum;
+
+    LoadReport report = new LoadDriverBuilder(command)
+      .withSenders(server.addPlayers("Player", playerCount))
+      .withThreads(threadCount)
+      .withWarmupMillis(3000)
+      .withDurationMillis(durationSeconds * 1000)
+      .withTicking(server.getScheduler())
+      .withScenario((callIndex, sender, random) -> {
+        int value = random.nextInt(totalWeight);
+        int index = 0;
+
+        while (value >= thresholds[index])
+          ++index;
+
+        return steps[index];
+      })
+      .build()
+      .run();
+
+    logger.info(report.getSummary());
+  }
+}
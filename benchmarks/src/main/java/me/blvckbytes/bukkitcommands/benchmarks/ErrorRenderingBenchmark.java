@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.benchmarks;
+
+import me.blvckbytes.bukkitcommands.EnumInfo;
+import me.blvckbytes.bukkitcommands.EnumInfoCache;
+import me.blvckbytes.bukkitcommands.config.ACommandSection;
+import me.blvckbytes.bukkitcommands.error.ErrorContext;
+import me.blvckbytes.bukkitcommands.testsupport.StandIns;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering error and usage messages through {@link ACommandSection}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorRenderingBenchmark {
+
+  private ACommandSection section;
+  private ErrorContext malformedContext, missingContext;
+  private EnumInfo materialInfo;
+
+  @Setup
+  public void setup() {
+    StandIns.installServer();
+    section = StandIns.commandSection("benchmark");
+    malformedContext = new ErrorContext(StandIns.commandSender("BenchmarkSender"), "benchmark", new String[] { "stone", "many" }, 1);
+    missingContext = new ErrorContext(StandIns.commandSender("BenchmarkSender"), "benchmark", new String[] { "stone" }, 1);
+    materialInfo = EnumInfoCache.get(Material.class);
+  }
+
+  @Benchmark
+  public String malformedInteger() {
+    return section.getMalformedIntegerMessage(malformedContext);
+  }
+
+  @Benchmark
+  public String malformedEnum() {
+    return section.getMalformedEnumMessage(malformedContext, materialInfo);
+  }
+
+  @Benchmark
+  public String missingArgument() {
+    return section.getMissingArgumentMessage(missingContext);
+  }
+
+  @Benchmark
+  public String internalError() {
+    return section.getInternalErrorMessage(malformedContext);
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.benchmarks;
+
+import me.blvckbytes.bukkitcommands.ParseResult;
+import me.blvckbytes.bukkitcommands.error.CommandError;
+import me.blvckbytes.bukkitcommands.testsupport.StandInServer;
+import me.blvckbytes.bukkitcommands.testsupport.StandIns;
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of every parameter helper on valid and invalid input; run with {@code -prof gc} for allocation rates
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterBenchmark {
+
+  private final String[] integerArgs = { "1234567" };
+  private final String[] longArgs = { "-9876543210123" };
+  private final String[] decimalArgs = { "12345.6789" };
+  private final String[] uuidArgs = { UUID.randomUUID().toString() };
+  private final String[] enumArgs = { "diamond_sword" };
+  private final String[] prefixArgs = { "dia" };
+  private final String[] invalidArgs = { "12x45" };
+  private final String[] playerArgs = { "player42" };
+  private final String[] unknownPlayerArgs = { "Nobody" };
+  private final String[] missingArgs = {};
+
+  private final ParseResult<?> primitiveResult = new ParseResult<>();
+  private final ParseResult<UUID> uuidResult = new ParseResult<>();
+  private final ParseResult<Material> materialResult = new ParseResult<>();
+
+  private BenchmarkCommand command;
+
+  @Setup
+  public void setup() {
+    StandInServer server = StandIns.installServer();
+    server.removeAllPlayers();
+    server.addPlayers("Player", 100);
+
+    command = new BenchmarkCommand(StandIns.commandSection("benchmark"));
+  }
+
+  @Benchmark
+  public Integer integerValid() {
+    return command.integer(integerArgs);
+  }
+
+  @Benchmark
+  public Object integerInvalid() {
+    try {
+      return command.integer(invalidArgs);
+    } catch (CommandError error) {
+      return error;
+    }
+  }
+
+  @Benchmark
+  public Integer integerMissingOrElse() {
+    return command.integerOrElse(missingArgs);
+  }
+
+  @Benchmark
+  public int primitiveIntValid() {
+    return command.primitiveInt(integerArgs);
+  }
+
+  @Benchmark
+  public ParseResult<?> tryPrimitiveIntInvalid() {
+    return command.tryPrimitiveInt(invalidArgs, primitiveResult);
+  }
+
+  @Benchmark
+  public Long longValid() {
+    return command.longValue(longArgs);
+  }
+
+  @Benchmark
+  public Object longInvalid() {
+    try {
+      return command.longValue(invalidArgs);
+    } catch (CommandError error) {
+      return error;
+    }
+  }
+
+  @Benchmark
+  public long primitiveLongValid() {
+    return command.primitiveLong(longArgs);
+  }
+
+  @Benchmark
+  public Double doubleValid() {
+    return command.doubleValue(decimalArgs);
+  }
+
+  @Benchmark
+  public Object doubleInvalid() {
+    try {
+      return command.doubleValue(invalidArgs);
+    } catch (CommandError error) {
+      return error;
+    }
+  }
+
+  @Benchmark
+  public double primitiveDoubleValid() {
+    return command.primitiveDouble(decimalArgs);
+  }
+
+  @Benchmark
+  public ParseResult<?> tryPrimitiveDoubleInvalid() {
+    return command.tryPrimitiveDouble(invalidArgs, primitiveResult);
+  }
+
+  @Benchmark
+  public Float floatValid() {
+    return command.floatValue(decimalArgs);
+  }
+
+  @Benchmark
+  public Object floatInvalid() {
+    try {
+      return command.floatValue(invalidArgs);
+    } catch (CommandError error) {
+      return error;
+    }
+  }
+
+  @Benchmark
+  public float primitiveFloatValid() {
+    return command.primitiveFloat(decimalArgs);
+  }
+
+  @Benchmark
+  public UUID uuidValid() {
+    return command.uuid(uuidArgs);
+  }
+
+  @Benchmark
+  public ParseResult<UUID> tryUuidInvalid() {
+    return command.tryUuid(invalidArgs, uuidResult);
+  }
+
+  @Benchmark
+  public Material enumValid() {
+    return command.material(enumArgs);
+  }
+
+  @Benchmark
+  public Object enumInvalid() {
+    try {
+      return command.material(invalidArgs);
+    } catch (CommandError error) {
+      return error;
+    }
+  }
+
+  @Benchmark
+  public ParseResult<Material> tryEnumInvalid() {
+    return command.tryMaterial(invalidArgs, materialResult);
+  }
+
+  @Benchmark
+  public List<String> enumCompletions() {
+    return command.materialCompletions(prefixArgs);
+  }
+
+  @Benchmark
+  public Player playerValid() {
+    return command.player(playerArgs);
+  }
+
+  @Benchmark
+  public Object playerNotOnline() {
+    try {
+      return command.player(unknownPlayerArgs);
+    } catch (CommandError error) {
+      return error;
+    }
+  }
+
+  @Benchmark
+  public OfflinePlayer offlinePlayerValid() {
+    return command.offlinePlayer(playerArgs);
+  }
+
+  @Benchmark
+  public Object offlinePlayerUnknown() {
+    try {
+      return command.offlinePlayer(unknownPlayerArgs);
+    } catch (CommandError error) {
+      return error;
+    }
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import me.blvckbytes.bukkitcommands.error.EErrorType;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Type of an argument within a {@link CommandSignature}, which knows how to
+ * parse as well as how to complete values of itself
+ */
+public class ArgumentType<T> {
+
+  private static final IArgumentCompleter NO_COMPLETIONS = (command, args, argumentIndex) -> Collections.emptyList();
+
+  public static final ArgumentType<String> STRING = new ArgumentType<>(
+    "text",
+    EArgumentKind.STRING,
+    (command, args, argumentIndex, result) -> (
+      argumentIndex < args.length
+        ? result.succeed(args[argumentIndex])
+        : result.fail(argumentIndex, EErrorType.MISSING_ARGUMENT)
+    ),
+    (command, tokens, argumentIndex, result) -> (
+      argumentIndex < tokens.size()
+        ? result.succeed(tokens.getString(argumentIndex))
+        : result.fail(argumentIndex, EErrorType.MISSING_ARGUMENT).within(tokens)
+    ),
+    NO_COMPLETIONS
+  );
+
+  public static final ArgumentType<Integer> INTEGER = new ArgumentType<>("integer", EArgumentKind.INTEGER, BukkitCommand::tryIntegerParameter, BukkitCommand::tryIntegerParameter, NO_COMPLETIONS);
+  public static final ArgumentType<Long> LONG = new ArgumentType<>("long", EArgumentKind.LONG, BukkitCommand::tryLongParameter, BukkitCommand::tryLongParameter, NO_COMPLETIONS);
+  public static final ArgumentType<Double> DOUBLE = new ArgumentType<>("double", EArgumentKind.DOUBLE, BukkitCommand::tryDoubleParameter, BukkitCommand::tryDoubleParameter, NO_COMPLETIONS);
+  public static final ArgumentType<Float> FLOAT = new ArgumentType<>("float", EArgumentKind.FLOAT, BukkitCommand::tryFloatParameter, BukkitCommand::tryFloatParameter, NO_COMPLETIONS);
+  public static final ArgumentType<UUID> UUID = new ArgumentType<>("uuid", EArgumentKind.UUID, BukkitCommand::tryUuidParameter, BukkitCommand::tryUuidParameter, NO_COMPLETIONS);
+  public static final ArgumentType<Player> PLAYER = new ArgumentType<>("player", EArgumentKind.PLAYER, BukkitCommand::tryPlayerParameter, BukkitCommand::tryPlayerParameter, BukkitCommand::playerCompletions);
+
+  public static final ArgumentType<OfflinePlayer> OFFLINE_PLAYER = new ArgumentType<>(
+    "player",
+    EArgumentKind.PLAYER,
+    (command, args, argumentIndex, result) -> command.tryOfflinePlayerParameter(args, argumentIndex, false, result),
+    (command, tokens, argumentIndex, result) -> command.tryOfflinePlayerParameter(tokens, argumentIndex, false, result),
+    BukkitCommand::playerCompletions
+  );
+
+  public static final ArgumentType<OfflinePlayer> KNOWN_OFFLINE_PLAYER = new ArgumentType<>(
+    "player",
+    EArgumentKind.PLAYER,
+    (command, args, argumentIndex, result) -> command.tryOfflinePlayerParameter(args, argumentIndex, true, result),
+    (command, tokens, argumentIndex, result) -> command.tryOfflinePlayerParameter(tokens, argumentIndex, true, result),
+    BukkitCommand::playerCompletions
+  );
+
+  private final String displayName;
+  private final EArgumentKind kind;
+  private final @Nullable Class<? extends Enum<?>> enumClass;
+  private final IArgumentParser<T> parser;
+  private final @Nullable ITokenParser<T> tokenParser;
+  private final IArgumentCompleter completer;
+
+  public ArgumentType(String displayName, IArgumentParser<T> parser, IArgumentCompleter completer) {
+    this(displayName, EArgumentKind.CUSTOM, parser, completer);
+  }
+
+  public ArgumentType(String displayName, EArgumentKind kind, IArgumentParser<T> parser, IArgumentCompleter completer) {
+    this(displayName, kind, null, parser, null, completer);
+  }
+
+  /**
+   * @param tokenParser Parser of {@link CommandTokens}, which otherwise fall back to the parser of strings
+   */
+  public ArgumentType(
+    String displayName,
+    EArgumentKind kind,
+    IArgumentParser<T> parser,
+    @Nullable ITokenParser<T> tokenParser,
+    IArgumentCompleter completer
+  ) {
+    this(displayName, kind, null, parser, tokenParser, completer);
+  }
+
+  private ArgumentType(
+    String displayName,
+    EArgumentKind kind,
+    @Nullable Class<? extends Enum<?>> enumClass,
+    IArgumentParser<T> parser,
+    @Nullable ITokenParser<T> tokenParser,
+    IArgumentCompleter completer
+  ) {
+    if (kind == EArgumentKind.ENUM && enumClass == null)
+      throw new IllegalArgumentException("Enum arguments are to be created by ArgumentType#ofEnum");
+
+    this.displayName = displayName;
+    this.kind = kind;
+    this.enumClass = enumClass;
+    this.parser = parser;
+    this.tokenParser = tokenParser;
+    this.completer = completer;
+  }
+
+  /**
+   * Creates a new type on every call, which is to be kept around as the handle to read parsed values with
+   */
+  public static <T extends Enum<?>> ArgumentType<T> ofEnum(Class<T> enumClass) {
+    // Index ahead of time, as signatures are built at registration
+    EnumInfoCache.warmUp(enumClass);
+
+    return new ArgumentType<>(
+      enumClass.getSimpleName().toLowerCase(Locale.ROOT),
+      EArgumentKind.ENUM,
+      enumClass,
+      (command, args, argumentIndex, result) -> command.tryEnumParameter(args, argumentIndex, enumClass, result),
+      (command, tokens, argumentIndex, result) -> command.tryEnumParameter(tokens, argumentIndex, enumClass, result),
+      (command, args, argumentIndex) -> command.enumCompletions(args, argumentIndex, enumClass)
+    );
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  public EArgumentKind getKind() {
+    return kind;
+  }
+
+  /**
+   * @return Class of the constants if this is an {@link EArgumentKind#ENUM} argument, null otherwise
+   */
+  public @Nullable Class<? extends Enum<?>> getEnumClass() {
+    return enumClass;
+  }
+
+  public IArgumentParser<T> getParser() {
+    return parser;
+  }
+
+  public ParseResult<T> parse(BukkitCommand command, CommandTokens tokens, int argumentIndex, ParseResult<T> result) {
+    if (tokenParser != null)
+      return tokenParser.parse(command, tokens, argumentIndex, result);
+
+    return parser.parse(command, tokens.toStringArray(), argumentIndex, result).within(tokens);
+  }
+
+  public IArgumentCompleter getCompleter() {
+    return completer;
+  }
+}
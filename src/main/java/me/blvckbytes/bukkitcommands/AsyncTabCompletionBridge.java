@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Answers tab completions of registered commands off of the server thread by hooking Paper's
+ * AsyncTabCompleteEvent, which is resolved reflectively, as this library compiles against Spigot.
+ * Only commands with {@link BukkitCommand#isAsyncCompletionEnabled()} are answered, through
+ * {@link BukkitCommand#tabCompleteAsync(CommandSender, String, String[])}, while all others are left
+ * up to the synchronous path. As the event has to be answered before its handler returns, the handler
+ * waits for the completion. Paper fires the event on a pool of threads, so a newer keystroke of the same
+ * sender cancels a pending completion, whose event is then answered with no completions at all.
+ * On servers without that event, {@link #install(Plugin)} yields null and completions keep being
+ * computed synchronously by Bukkit.
+ */
+public class AsyncTabCompletionBridge implements Listener {
+
+  private static final String EVENT_CLASS_NAME = "com.destroystokyo.paper.event.server.AsyncTabCompleteEvent";
+
+  private final Plugin plugin;
+  private final String fallbackPrefix;
+  private final Map<String, BukkitCommand> commandByLabel;
+
+  private final MethodHandle getBuffer, getSender, isCommand, isHandled, setCompletions, setHandled;
+
+  private AsyncTabCompletionBridge(Plugin plugin, Class<?> eventClass) throws ReflectiveOperationException {
+    this.plugin = plugin;
+    this.fallbackPrefix = plugin.getName().toLowerCase(Locale.ROOT);
+    this.commandByLabel = new ConcurrentHashMap<>();
+
+    MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+    this.getBuffer = lookup.findVirtual(eventClass, "getBuffer", MethodType.methodType(String.class));
+    this.getSender = lookup.findVirtual(eventClass, "getSender", MethodType.methodType(CommandSender.class));
+    this.isCommand = lookup.findVirtual(eventClass, "isCommand", MethodType.methodType(boolean.class));
+    this.isHandled = lookup.findVirtual(eventClass, "isHandled", MethodType.methodType(boolean.class));
+    this.setCompletions = lookup.findVirtual(eventClass, "setCompletions", MethodType.methodType(void.class, List.class));
+    this.setHandled = lookup.findVirtual(eventClass, "setHandled", MethodType.methodType(void.class, boolean.class));
+  }
+
+  /**
+   * Installs the bridge if the server supports asynchronous tab completion
+   * @return The bridge or null if not supported
+   */
+  @SuppressWarnings("unchecked")
+  public static @Nullable AsyncTabCompletionBridge install(Plugin plugin) {
+    Class<? extends Event> eventClass;
+
+    try {
+      eventClass = (Class<? extends Event>) Class.forName(EVENT_CLASS_NAME);
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+
+    AsyncTabCompletionBridge bridge;
+
+    try {
+      bridge = new AsyncTabCompletionBridge(plugin, eventClass);
+    } catch (ReflectiveOperationException e) {
+      plugin.getLogger().log(Level.WARNING, "Could not hook into asynchronous tab completion", e);
+      return null;
+    }
+
+    Bukkit.getPluginManager().registerEvent(
+      eventClass, bridge, EventPriority.NORMAL,
+      (listener, event) -> {
+        if (eventClass.isInstance(event))
+          bridge.onAsyncTabComplete(event);
+      },
+      plugin, true
+    );
+
+    return bridge;
+  }
+
+  /**
+   * Registers a command which has already been added to the command map, as only the labels which
+   * actually lead to it are indexed; it's then completed off of the server thread if it enabled
+   * asynchronous completion. Labels are re-indexed whenever the command applies new aliases.
+   */
+  public void register(BukkitCommand command) {
+    command.setCompletionBridge(this);
+    index(command);
+  }
+
+  public void unregister(BukkitCommand command) {
+    command.setCompletionBridge(null);
+    commandByLabel.values().removeIf(registered -> registered == command);
+  }
+
+  void reindex(BukkitCommand command) {
+    commandByLabel.values().removeIf(registered -> registered == command);
+    index(command);
+  }
+
+  private void index(BukkitCommand command) {
+    SimpleCommandMap commandMap = CommandMapAccess.getCommandMap();
+    Map<String, Command> knownCommands = commandMap == null ? null : commandMap.getKnownCommands();
+
+    for (String label : command.getConfiguredLabels()) {
+      // Labels taken by other commands are only reachable through the fallback prefix
+      if (knownCommands == null || knownCommands.get(label) == command)
+        commandByLabel.put(label, command);
+    }
+  }
+
+  private void onAsyncTabComplete(Event event) {
+    try {
+      if ((boolean) isHandled.invoke(event) || !(boolean) isCommand.invoke(event))
+        return;
+
+      String buffer = (String) getBuffer.invoke(event);
+      int labelStart = buffer.startsWith("/") ? 1 : 0;
+      int labelEnd = buffer.indexOf(' ', labelStart);
+
+      // Only arguments are completed, while labels are left up to the server
+      if (labelEnd < 0)
+        return;
+
+      String label = buffer.substring(labelStart, labelEnd).toLowerCase(Locale.ROOT);
+      int namespaceEnd = label.indexOf(':');
+
+      // Labels of other namespaces belong to other plugins, even if they share a name with a command of this plugin
+      if (namespaceEnd >= 0) {
+        if (!label.regionMatches(0, fallbackPrefix, 0, namespaceEnd) || namespaceEnd != fallbackPrefix.length())
+          return;
+
+        label = label.substring(namespaceEnd + 1);
+      }
+
+      BukkitCommand command = commandByLabel.get(label);
+
+      if (command == null || !command.isAsyncCompletionEnabled())
+        return;
+
+      CommandSender sender = (CommandSender) getSender.invoke(event);
+
+      if (!command.testPermissionSilent(sender))
+        return;
+
+      String[] args = buffer.substring(labelEnd + 1).split(" ", -1);
+      List<String> completions;
+
+      try {
+        completions = command.tabCompleteAsync(sender, label, args).join();
+      } catch (CancellationException e) {
+        // Superseded by a newer keystroke, which is the only response the client is still interested in
+        completions = Collections.emptyList();
+      }
+
+      setCompletions.invoke(event, new ArrayList<>(completions));
+      setHandled.invoke(event, true);
+    } catch (Throwable e) {
+      plugin.getLogger().log(Level.SEVERE, "An error occurred while completing asynchronously", e);
+    }
+  }
+}
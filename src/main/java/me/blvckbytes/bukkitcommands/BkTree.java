@@ -0,0 +1,419 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Burkhard-Keller tree of names under the case-insensitive Levenshtein distance, which answers
+ * similarity queries by visiting only the subtrees that the triangle inequality cannot rule out.
+ * Each query is bounded by a maximum distance, a result limit, a node budget and a deadline, such
+ * that suggestions never degrade into a linear scan over large sets of names. Instances are immutable, while
+ * {@link #with(String)} and {@link #without(String)} only copy the nodes along the path of the name.
+ */
+public class BkTree implements ISuggestionSource {
+
+  private static final long DEFAULT_TIMEOUT_NANOS = 1_000_000;
+  private static final int MAX_VISITED_NODES = 4096;
+
+  // Checking the clock on every node would cost more than the distance computations
+  private static final int DEADLINE_CHECK_INTERVAL = 32;
+
+  private final @Nullable Node root;
+  private final int size;
+
+  // Removed names keep routing searches, until they outnumber the contained names
+  private final int removedCount;
+
+  public BkTree(Collection<String> names) {
+    Node root = null;
+    int size = 0;
+
+    for (String name : names) {
+      Node node = new Node(name);
+
+      if (root == null) {
+        root = node;
+        ++size;
+        continue;
+      }
+
+      if (root.insert(node))
+        ++size;
+    }
+
+    this.root = root;
+    this.size = size;
+    this.removedCount = 0;
+  }
+
+  private BkTree(@Nullable Node root, int size, int removedCount) {
+    this.root = root;
+    this.size = size;
+    this.removedCount = removedCount;
+  }
+
+  /**
+   * Creates a copy of this tree which additionally contains the provided name,
+   * replacing any previous name which only differs in case
+   */
+  public BkTree with(String name) {
+    Node node = new Node(name);
+
+    if (root == null)
+      return new BkTree(node, 1, 0);
+
+    List<Node> path = new ArrayList<>();
+    List<Integer> childIndices = new ArrayList<>();
+    Node current = root;
+
+    while (true) {
+      int distance = distance(current.foldedName, node.foldedName);
+
+      if (distance == 0) {
+        if (!current.removed && current.name.equals(name))
+          return this;
+
+        Node replacement = current.copy(name, false);
+
+        if (!current.removed)
+          return new BkTree(copyPath(path, childIndices, replacement), size, removedCount);
+
+        return new BkTree(copyPath(path, childIndices, replacement), size + 1, removedCount - 1);
+      }
+
+      int childIndex = current.indexOfChild(distance);
+
+      if (childIndex < 0) {
+        Node replacement = current.copy(current.name, current.removed);
+        replacement.addChild(distance, node);
+        return new BkTree(copyPath(path, childIndices, replacement), size + 1, removedCount);
+      }
+
+      path.add(current);
+      childIndices.add(childIndex);
+      current = current.children[childIndex];
+    }
+  }
+
+  /**
+   * Creates a copy of this tree which no longer contains the provided name
+   */
+  public BkTree without(String name) {
+    char[] foldedName = fold(name);
+    List<Node> path = new ArrayList<>();
+    List<Integer> childIndices = new ArrayList<>();
+    Node current = root;
+
+    while (current != null) {
+      int distance = distance(current.foldedName, foldedName);
+
+      if (distance == 0) {
+        if (current.removed)
+          return this;
+
+        // Rebuilding drops all removed names, at a cost which is amortized by the removals it took to get here
+        if (removedCount + 1 > size - 1)
+          return new BkTree(collectNames(current));
+
+        Node replacement = current.copy(current.name, true);
+        return new BkTree(copyPath(path, childIndices, replacement), size - 1, removedCount + 1);
+      }
+
+      int childIndex = current.indexOfChild(distance);
+
+      if (childIndex < 0)
+        return this;
+
+      path.add(current);
+      childIndices.add(childIndex);
+      current = current.children[childIndex];
+    }
+
+    return this;
+  }
+
+  @Override
+  public List<String> suggest(String input, int limit) {
+    return search(input, getDefaultMaxDistance(input.length()), limit, DEFAULT_TIMEOUT_NANOS);
+  }
+
+  /**
+   * @return Names within the maximum distance of the input, closest first, as far as they
+   *         could be found before either the node budget or the timeout ran out
+   */
+  public List<String> search(String input, int maxDistance, int limit, long timeoutNanos) {
+    if (root == null || limit <= 0)
+      return Collections.emptyList();
+
+    char[] foldedInput = fold(input);
+    long deadline = System.nanoTime() + timeoutNanos;
+
+    List<Node> resultNodes = new ArrayList<>(limit);
+    int[] resultDistances = new int[limit];
+    int bound = maxDistance;
+
+    Deque<Node> pending = new ArrayDeque<>();
+    pending.push(root);
+
+    for (int visitedCount = 0; !pending.isEmpty(); visitedCount++) {
+      if (visitedCount >= MAX_VISITED_NODES)
+        break;
+
+      if (visitedCount % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0)
+        break;
+
+      Node node = pending.pop();
+      int distance = distance(foldedInput, node.foldedName);
+
+      if (distance <= bound && !node.removed) {
+        insertResult(resultNodes, resultDistances, limit, node, distance);
+
+        // Once the result is full, only strictly closer names can still make it in
+        if (resultNodes.size() == limit)
+          bound = Math.min(bound, resultDistances[limit - 1] - 1);
+      }
+
+      for (int i = 0; i < node.childCount; i++) {
+        int childDistance = node.childDistances[i];
+
+        if (childDistance >= distance - bound && childDistance <= distance + bound)
+          pending.push(node.children[i]);
+      }
+    }
+
+    List<String> result = new ArrayList<>(resultNodes.size());
+
+    for (Node node : resultNodes)
+      result.add(node.name);
+
+    return result;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  //=========================================================================//
+  //                                Internals                                //
+  //=========================================================================//
+
+  /**
+   * @return Root of a copy of the path, where the last node on the path is swapped out for the replacement
+   */
+  private static Node copyPath(List<Node> path, List<Integer> childIndices, Node replacement) {
+    Node result = replacement;
+
+    for (int i = path.size() - 1; i >= 0; i--) {
+      Node node = path.get(i);
+      Node copy = node.copy(node.name, node.removed);
+      copy.children[childIndices.get(i)] = result;
+      result = copy;
+    }
+
+    return result;
+  }
+
+  /**
+   * @return All contained names, except the excluded node's
+   */
+  private List<String> collectNames(Node excluded) {
+    List<String> result = new ArrayList<>(size);
+    Deque<Node> pending = new ArrayDeque<>();
+
+    if (root != null)
+      pending.push(root);
+
+    while (!pending.isEmpty()) {
+      Node node = pending.pop();
+
+      if (!node.removed && node != excluded)
+        result.add(node.name);
+
+      for (int i = 0; i < node.childCount; i++)
+        pending.push(node.children[i]);
+    }
+
+    return result;
+  }
+
+  private static int getDefaultMaxDistance(int inputLength) {
+    if (inputLength <= 3)
+      return 1;
+
+    if (inputLength <= 6)
+      return 2;
+
+    return 3;
+  }
+
+  private static void insertResult(List<Node> nodes, int[] distances, int limit, Node node, int distance) {
+    int index = nodes.size();
+
+    while (index > 0 && distances[index - 1] > distance)
+      --index;
+
+    if (index >= limit)
+      return;
+
+    if (nodes.size() == limit)
+      nodes.remove(limit - 1);
+
+    System.arraycopy(distances, index, distances, index + 1, nodes.size() - index);
+    distances[index] = distance;
+    nodes.add(index, node);
+  }
+
+  private static char[] fold(String input) {
+    char[] result = new char[input.length()];
+
+    for (int i = 0; i < result.length; i++)
+      result[i] = PrefixIndex.fold(input.charAt(i));
+
+    return result;
+  }
+
+  private static int distance(char[] a, char[] b) {
+    if (a.length == 0)
+      return b.length;
+
+    if (b.length == 0)
+      return a.length;
+
+    int[] previousRow = new int[b.length + 1];
+    int[] currentRow = new int[b.length + 1];
+
+    for (int j = 0; j <= b.length; j++)
+      previousRow[j] = j;
+
+    for (int i = 1; i <= a.length; i++) {
+      currentRow[0] = i;
+
+      for (int j = 1; j <= b.length; j++) {
+        int substitutionCost = a[i - 1] == b[j - 1] ? 0 : 1;
+
+        currentRow[j] = Math.min(
+          Math.min(currentRow[j - 1] + 1, previousRow[j] + 1),
+          previousRow[j - 1] + substitutionCost
+        );
+      }
+
+      int[] swap = previousRow;
+      previousRow = currentRow;
+      currentRow = swap;
+    }
+
+    return previousRow[b.length];
+  }
+
+  private static class Node {
+
+    private final String name;
+    private final char[] foldedName;
+    private final boolean removed;
+
+    private int[] childDistances;
+    private Node[] children;
+    private int childCount;
+
+    private Node(String name) {
+      this.name = name;
+      this.foldedName = fold(name);
+      this.removed = false;
+      this.childDistances = new int[0];
+      this.children = new Node[0];
+    }
+
+    private Node(String name, char[] foldedName, boolean removed, int[] childDistances, Node[] children, int childCount) {
+      this.name = name;
+      this.foldedName = foldedName;
+      this.removed = removed;
+      this.childDistances = childDistances;
+      this.children = children;
+      this.childCount = childCount;
+    }
+
+    /**
+     * @param name Name to take on, which is expected to only differ from this node's name in case, if at all
+     */
+    private Node copy(String name, boolean removed) {
+      return new Node(
+        name, foldedName, removed,
+        Arrays.copyOf(childDistances, childCount), Arrays.copyOf(children, childCount), childCount
+      );
+    }
+
+    /**
+     * @return False if an equal name is already contained
+     */
+    private boolean insert(Node node) {
+      Node current = this;
+
+      while (true) {
+        int distance = distance(current.foldedName, node.foldedName);
+
+        if (distance == 0)
+          return false;
+
+        Node child = current.getChild(distance);
+
+        if (child == null) {
+          current.addChild(distance, node);
+          return true;
+        }
+
+        current = child;
+      }
+    }
+
+    private @Nullable Node getChild(int distance) {
+      int index = indexOfChild(distance);
+      return index < 0 ? null : children[index];
+    }
+
+    private int indexOfChild(int distance) {
+      for (int i = 0; i < childCount; i++) {
+        if (childDistances[i] == distance)
+          return i;
+      }
+
+      return -1;
+    }
+
+    private void addChild(int distance, Node child) {
+      if (childCount == children.length) {
+        int newLength = Math.max(4, childCount * 2);
+        childDistances = Arrays.copyOf(childDistances, newLength);
+        children = Arrays.copyOf(children, newLength);
+      }
+
+      childDistances[childCount] = distance;
+      children[childCount] = child;
+      ++childCount;
+    }
+  }
+}
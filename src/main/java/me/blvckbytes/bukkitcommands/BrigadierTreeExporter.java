@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.arguments.*;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Derives a Brigadier node tree from the signature and subcommands of a {@link BukkitCommand}, which lets
+ * clients complete literals as well as enum constants and validate numbers without asking the server. Only
+ * arguments whose values are unknown to the client, like player names, still ask the server for suggestions.
+ * All literals of an enum argument share one and the same node of the following argument, which keeps the
+ * tree linear in the number of arguments, as the client receives shared nodes only once.
+ * <p>
+ * Literals are matched case-sensitively by the client, while the server parses constants case-insensitively.
+ * Every constant is thus exported as declared and in lower case, and input of any other casing is marked as
+ * invalid by the client, even though the server would still accept it when sent.
+ */
+public final class BrigadierTreeExporter {
+
+  // Enums with more constants, like materials, would bloat the tree which is sent to every client
+  private static final int MAX_ENUM_LITERALS = 256;
+
+  private BrigadierTreeExporter() {}
+
+  /**
+   * @param executor Command executing the whole input, which is expected to dispatch to the {@link BukkitCommand}
+   * @param serverSuggestions Provider asking the server for suggestions, which in turn calls tab completion
+   * @param senderResolver Resolves the sender of a source, as used to hide subcommands lacking permission
+   * @return Root literal of the label, or null if there's neither a signature nor subcommands to describe
+   */
+  public static <S> @Nullable LiteralCommandNode<S> buildLiteral(
+    BukkitCommand command,
+    String label,
+    Command<S> executor,
+    SuggestionProvider<S> serverSuggestions,
+    Predicate<S> requirement,
+    Function<S, CommandSender> senderResolver
+  ) {
+    CommandSignature signature = command.getSignature();
+    RadixTree<Subcommand> subcommands = command.getSubcommands();
+
+    if (signature == null && subcommands == null)
+      return null;
+
+    LiteralArgumentBuilder<S> root = LiteralArgumentBuilder.<S>literal(label).requires(requirement);
+    NodeFactory<S> factory = new NodeFactory<>(executor, serverSuggestions, senderResolver);
+
+    if (subcommands != null) {
+      for (CommandNode<S> child : factory.buildSubcommandLiterals(subcommands))
+        root.then(child);
+    }
+
+    if (signature != null) {
+      for (CommandNode<S> child : factory.buildSignatureNodes(signature, 0))
+        root.then(child);
+    }
+
+    // Invocations without arguments are accepted if the signature allows for them, or if there's none to tell
+    if (signature == null || signature.getArgumentCount() == 0 || signature.isOptional(0))
+      root.executes(executor);
+
+    return root.build();
+  }
+
+  private static class NodeFactory<S> {
+
+    private final Command<S> executor;
+    private final SuggestionProvider<S> serverSuggestions;
+    private final Function<S, CommandSender> senderResolver;
+
+    private NodeFactory(Command<S> executor, SuggestionProvider<S> serverSuggestions, Function<S, CommandSender> senderResolver) {
+      this.executor = executor;
+      this.serverSuggestions = serverSuggestions;
+      this.senderResolver = senderResolver;
+    }
+
+    private List<CommandNode<S>> buildSubcommandLiterals(RadixTree<Subcommand> level) {
+      List<CommandNode<S>> result = new ArrayList<>();
+
+      // Names include aliases, each of which becomes a literal of its own
+      for (String name : level.getNamesStartingWith("", Integer.MAX_VALUE)) {
+        Subcommand subcommand = level.get(name);
+
+        if (subcommand != null)
+          result.add(buildSubcommandLiteral(name, subcommand));
+      }
+
+      return result;
+    }
+
+    private CommandNode<S> buildSubcommandLiteral(String name, Subcommand subcommand) {
+      LiteralArgumentBuilder<S> builder = LiteralArgumentBuilder.<S>literal(name)
+        .requires(source -> subcommand.isPermitted(senderResolver.apply(source)));
+
+      RadixTree<Subcommand> children = subcommand.getChildren();
+
+      if (children.size() > 0) {
+        for (CommandNode<S> child : buildSubcommandLiterals(children))
+          builder.then(child);
+      }
+
+      if (subcommand.getHandler() != null) {
+        builder.executes(executor);
+
+        // Arguments of handlers are opaque, so they're left up to the server entirely
+        if (children.size() == 0)
+          builder.then(serverArgument("args", StringArgumentType.greedyString()).executes(executor));
+      }
+
+      return builder.build();
+    }
+
+    /**
+     * @return Nodes representing the argument at the index, all sharing the nodes of the following argument
+     */
+    private List<CommandNode<S>> buildSignatureNodes(CommandSignature signature, int index) {
+      if (index >= signature.getArgumentCount())
+        return Collections.emptyList();
+
+      List<CommandNode<S>> children = buildSignatureNodes(signature, index + 1);
+
+      // The input is complete at this argument if all following arguments are optional
+      boolean executable = index + 1 >= signature.getArgumentCount() || signature.isOptional(index + 1);
+
+      String name = signature.getName(index);
+      ArgumentType<?> type = signature.getType(index);
+      List<ArgumentBuilder<S, ?>> builders = new ArrayList<>();
+
+      if (signature.isGreedy(index))
+        builders.add(serverArgument(name, StringArgumentType.greedyString()));
+
+      else {
+        switch (type.getKind()) {
+          case STRING:
+            // Accepts quoted tokens spanning multiple words, just like CommandTokens does
+            builders.add(serverArgument(name, StringArgumentType.string()));
+            break;
+          case INTEGER:
+            builders.add(RequiredArgumentBuilder.argument(name, IntegerArgumentType.integer()));
+            break;
+          case LONG:
+            builders.add(RequiredArgumentBuilder.argument(name, LongArgumentType.longArg()));
+            break;
+          case DOUBLE:
+            builders.add(RequiredArgumentBuilder.argument(name, DoubleArgumentType.doubleArg()));
+            break;
+          case FLOAT:
+            builders.add(RequiredArgumentBuilder.argument(name, FloatArgumentType.floatArg()));
+            break;
+          case ENUM:
+            List<String> constantNames = EnumInfoCache.get(type.getEnumClass()).getEnumConstantNames();
+
+            if (constantNames.size() > MAX_ENUM_LITERALS) {
+              builders.add(serverArgument(name, StringArgumentType.word()));
+              break;
+            }
+
+            for (String literal : enumLiterals(constantNames))
+              builders.add(LiteralArgumentBuilder.literal(literal));
+            break;
+          default:
+            builders.add(serverArgument(name, StringArgumentType.word()));
+            break;
+        }
+      }
+
+      List<CommandNode<S>> result = new ArrayList<>(builders.size());
+
+      for (ArgumentBuilder<S, ?> builder : builders) {
+        // The very same child instances are attached to every builder, rather than copies of them
+        for (CommandNode<S> child : children)
+          builder.then(child);
+
+        if (executable)
+          builder.executes(executor);
+
+        result.add(builder.build());
+      }
+
+      return result;
+    }
+
+    // Lower case variants are added as well, as they're how constants are usually typed
+    private Set<String> enumLiterals(List<String> constantNames) {
+      Set<String> result = new LinkedHashSet<>();
+
+      for (String constantName : constantNames) {
+        result.add(constantName);
+        result.add(constantName.toLowerCase(Locale.ROOT));
+      }
+
+      return result;
+    }
+
+    private <T> RequiredArgumentBuilder<S, T> serverArgument(String name, com.mojang.brigadier.arguments.ArgumentType<T> type) {
+      return RequiredArgumentBuilder.<S, T>argument(name, type).suggests(serverSuggestions);
+    }
+  }
+}
@@ -25,14 +25,24 @@
 package me.blvckbytes.bukkitcommands;
 
 import me.blvckbytes.bukkitcommands.error.*;
+import me.blvckbytes.bukkitcommands.metrics.*;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -40,15 +50,35 @@ import java.util.logging.Logger;
 public abstract class BukkitCommand extends Command {
 
   protected static final List<String> EMPTY_STRING_LIST;
-  private static final Map<Class<? extends Enum<?>>, EnumInfo> enumConstantsCache;
 
   static {
     EMPTY_STRING_LIST = Collections.unmodifiableList(new ArrayList<>());
-    enumConstantsCache = new HashMap<>();
   }
 
-  protected final ICommandConfigProvider configProvider;
+  protected volatile ICommandConfigProvider configProvider;
   protected final Logger logger;
+  protected final CommandMetrics metrics;
+
+  private @Nullable OnlinePlayerIndex onlinePlayerIndex;
+  private @Nullable OfflinePlayerResolver offlinePlayerResolver;
+  private @Nullable CommandSignature signature;
+  private volatile @Nullable RadixTree<Subcommand> subcommands;
+
+  private volatile EExecutionMode executionMode;
+  private volatile @Nullable Executor asyncExecutor;
+  private volatile @Nullable Executor mainThreadExecutor;
+  private volatile @Nullable Executor completionExecutor;
+  private volatile @Nullable TabCompletionCache completionCache;
+  private volatile @Nullable RateLimiter invocationLimiter;
+  private volatile @Nullable RateLimiter completionLimiter;
+  private volatile @Nullable CommandTreeSynchronizer commandTreeSynchronizer;
+  private volatile @Nullable AsyncTabCompletionBridge completionBridge;
+  private volatile @Nullable CommandTracing tracing;
+
+  private final Map<CommandSender, CompletableFuture<List<String>>> pendingCompletions;
+
+  // Bukkit ignores alias changes once registered, so the aliases of the latest config are tracked here
+  private List<String> appliedAliases;
 
   protected BukkitCommand(ICommandConfigProvider configProvider, Logger logger) {
     super(
@@ -60,6 +90,233 @@ public abstract class BukkitCommand extends Command {
 
     this.configProvider = configProvider;
     this.logger = logger;
+    this.metrics = new CommandMetrics(configProvider.getName());
+    this.executionMode = EExecutionMode.SYNC;
+    this.pendingCompletions = new ConcurrentHashMap<>();
+    this.invocationLimiter = createRateLimiter(configProvider.getInvocationRateLimit());
+    this.completionLimiter = createRateLimiter(configProvider.getCompletionRateLimit());
+    this.appliedAliases = new ArrayList<>(configProvider.getAliases());
+  }
+
+  /**
+   * Sets the index used to look up online players by name, which turns player
+   * parameters into exact, instead of partial name matches
+   */
+  public void setOnlinePlayerIndex(@Nullable OnlinePlayerIndex onlinePlayerIndex) {
+    this.onlinePlayerIndex = onlinePlayerIndex;
+  }
+
+  /**
+   * Sets the resolver used to look up offline players by name without blocking the main thread
+   */
+  public void setOfflinePlayerResolver(@Nullable OfflinePlayerResolver offlinePlayerResolver) {
+    this.offlinePlayerResolver = offlinePlayerResolver;
+  }
+
+  /**
+   * Declares the arguments of this command, which are then parsed by {@link #parseArguments(String[])},
+   * completed by {@link #signatureCompletions(String[])} and used as a fallback usage string
+   */
+  protected void setSignature(CommandSignature signature) {
+    this.signature = signature;
+
+    if (getUsage().isEmpty())
+      setUsage("/" + getName() + " " + signature.getUsage());
+  }
+
+  @Nullable CommandSignature getSignature() {
+    return signature;
+  }
+
+  @Nullable RadixTree<Subcommand> getSubcommands() {
+    return subcommands;
+  }
+
+  /**
+   * Registers the subcommands which arguments are routed to by their names and aliases, case-insensitively,
+   * before falling back to {@link #onInvocation(CommandSender, String, String[])} if none of them matched
+   */
+  protected void setSubcommands(Subcommand... subcommands) {
+    RadixTree<Subcommand> tree = new RadixTree<>();
+
+    for (Subcommand subcommand : subcommands) {
+      if (subcommand.getParent() != null)
+        throw new IllegalArgumentException("Only root subcommands can be registered: " + subcommand.getName());
+
+      Subcommand.registerInto(tree, subcommand);
+    }
+
+    this.subcommands = tree;
+  }
+
+  /**
+   * Sets the synchronizer which is requested to resend the command tree to clients after reloads changed aliases
+   */
+  public void setCommandTreeSynchronizer(@Nullable CommandTreeSynchronizer commandTreeSynchronizer) {
+    this.commandTreeSynchronizer = commandTreeSynchronizer;
+  }
+
+  /**
+   * Loads a new configuration on the provided executor, which is where sections are to be parsed and thereby
+   * compiled, and then swaps it into this live command on the server thread by {@link #applyConfig(ICommandConfigProvider)}
+   */
+  public CompletableFuture<Void> reload(
+    Supplier<? extends ICommandConfigProvider> loader,
+    Executor loadExecutor,
+    Executor mainThreadExecutor
+  ) {
+    return CompletableFuture
+      .supplyAsync(loader, loadExecutor)
+      .thenAcceptAsync(this::applyConfig, mainThreadExecutor);
+  }
+
+  public CompletableFuture<Void> reload(Plugin plugin, Supplier<? extends ICommandConfigProvider> loader) {
+    return reload(loader, ForkJoinPool.commonPool(), CommandExecutors.mainThreadExecutor(plugin));
+  }
+
+  /**
+   * Swaps in a new configuration without re-registering this command, which has to be called on the
+   * server thread. Aliases are only updated within the command map if they actually changed, in which
+   * case a resync of the command tree is requested. The name cannot change while being registered.
+   */
+  public void applyConfig(ICommandConfigProvider newConfigProvider) {
+    ICommandConfigProvider oldConfigProvider = this.configProvider;
+
+    if (!newConfigProvider.getName().equalsIgnoreCase(getName()))
+      logger.warning("Cannot rename command " + getName() + " to " + newConfigProvider.getName() + " without re-registering it");
+
+    this.configProvider = newConfigProvider;
+
+    setDescription(newConfigProvider.getDescription());
+
+    CommandSignature signature = this.signature;
+    String usage = newConfigProvider.getUsage();
+
+    if (usage.isEmpty() && signature != null)
+      usage = "/" + getName() + " " + signature.getUsage();
+
+    setUsage(usage);
+
+    // Limiters are only rebuilt on change, as that resets all of their buckets
+    if (!Objects.equals(oldConfigProvider.getInvocationRateLimit(), newConfigProvider.getInvocationRateLimit()))
+      this.invocationLimiter = createRateLimiter(newConfigProvider.getInvocationRateLimit());
+
+    if (!Objects.equals(oldConfigProvider.getCompletionRateLimit(), newConfigProvider.getCompletionRateLimit()))
+      this.completionLimiter = createRateLimiter(newConfigProvider.getCompletionRateLimit());
+
+    List<String> oldAliases = this.appliedAliases;
+    List<String> newAliases = new ArrayList<>(newConfigProvider.getAliases());
+
+    if (!toLabels(oldAliases).equals(toLabels(newAliases))) {
+      List<String> registeredAliases = new ArrayList<>(newAliases);
+
+      // Taken aliases are dropped, just as when registering
+      for (String alias : CommandMapAccess.replaceAliases(this, oldAliases, newAliases)) {
+        logger.warning("Could not register alias " + alias + " of command " + getName() + ", as it's already taken");
+        registeredAliases.remove(alias);
+      }
+
+      setAliases(registeredAliases);
+      this.appliedAliases = newAliases;
+
+      AsyncTabCompletionBridge bridge = this.completionBridge;
+
+      if (bridge != null)
+        bridge.reindex(this);
+
+      CommandTreeSynchronizer synchronizer = this.commandTreeSynchronizer;
+
+      if (synchronizer != null)
+        synchronizer.requestResyncAll();
+    }
+  }
+
+  /**
+   * @return Lower-case name and aliases of the latest applied config, of which some may be taken by other commands
+   */
+  List<String> getConfiguredLabels() {
+    List<String> result = toLabels(appliedAliases);
+    result.add(0, getName().toLowerCase(Locale.ROOT));
+    return result;
+  }
+
+  void setCompletionBridge(@Nullable AsyncTabCompletionBridge completionBridge) {
+    this.completionBridge = completionBridge;
+  }
+
+  /**
+   * Switches this command into {@link EExecutionMode#ASYNC}, where invocations are prepared on the
+   * server thread by {@link #prepareInvocation(CommandSender, String, String[])}, while the returned
+   * handler runs on the provided executor, and {@link #sync(Runnable)} hands back to the server thread
+   */
+  public void enableAsyncExecution(Executor asyncExecutor, Executor mainThreadExecutor) {
+    this.asyncExecutor = asyncExecutor;
+    this.mainThreadExecutor = mainThreadExecutor;
+    this.executionMode = EExecutionMode.ASYNC;
+  }
+
+  /**
+   * @param asyncExecutor Executor which is meant to be shared among all commands, like one created by
+   *                      {@link CommandExecutors#newAsyncExecutor()}, and which is to be shut down by
+   *                      the caller when disabling
+   */
+  public void enableAsyncExecution(Plugin plugin, Executor asyncExecutor) {
+    enableAsyncExecution(asyncExecutor, CommandExecutors.mainThreadExecutor(plugin));
+  }
+
+  public void disableAsyncExecution() {
+    this.executionMode = EExecutionMode.SYNC;
+  }
+
+  /**
+   * Enables {@link #tabCompleteAsync(CommandSender, String, String[])} to run completions on the provided
+   * executor, which requires {@link #onTabComplete(CommandSender, String, String[])} to be thread-safe
+   */
+  public void enableAsyncCompletion(Executor completionExecutor) {
+    this.completionExecutor = completionExecutor;
+  }
+
+  public void disableAsyncCompletion() {
+    this.completionExecutor = null;
+  }
+
+  public boolean isAsyncCompletionEnabled() {
+    return completionExecutor != null;
+  }
+
+  /**
+   * Sets the cache used to narrow down previous completions, which may only be used if
+   * {@link #onTabComplete(CommandSender, String, String[])} exclusively returns completions
+   * that start with the last argument and calls {@link TabCompletionCache#markTruncated()}
+   * whenever it capped them, which the limited completion helpers already take care of
+   */
+  public void setCompletionCache(@Nullable TabCompletionCache completionCache) {
+    this.completionCache = completionCache;
+  }
+
+  /**
+   * Drops all cached completions of this command, which is to be called whenever its completions change
+   */
+  public void invalidateCompletions() {
+    TabCompletionCache cache = this.completionCache;
+
+    if (cache != null)
+      cache.invalidateCommand(getName());
+  }
+
+  /**
+   * Sets the tracing of invocations and completions, which may be shared among many commands
+   */
+  public void setTracing(@Nullable CommandTracing tracing) {
+    this.tracing = tracing;
+  }
+
+  public EExecutionMode getExecutionMode() {
+    return executionMode;
+  }
+
+  public CommandMetrics getMetrics() {
+    return metrics;
   }
 
   //=========================================================================//
@@ -68,6 +325,16 @@ public abstract class BukkitCommand extends Command {
 
   protected abstract void onInvocation(CommandSender sender, String alias, String[] args);
 
+  /**
+   * Prepares an invocation on the server thread when in {@link EExecutionMode#ASYNC}, which is where
+   * arguments are best parsed, and returns the handler to run asynchronously, or null to end the invocation.
+   * By default, the whole invocation is handed off to {@link #onInvocation(CommandSender, String, String[])},
+   * which then runs off the main thread in its entirety and thus must not touch the Bukkit API.
+   */
+  protected @Nullable Runnable prepareInvocation(CommandSender sender, String alias, String[] args) {
+    return () -> onInvocation(sender, alias, args);
+  }
+
   protected abstract List<String> onTabComplete(CommandSender sender, String alias, String[] args);
 
   //=========================================================================//
@@ -76,163 +343,922 @@ public abstract class BukkitCommand extends Command {
 
   @Override
   public boolean execute(@NotNull CommandSender sender, @NotNull String alias, @NotNull String[] args) {
-    return executeAndHandleCommandErrors(() -> {
-      onInvocation(sender, alias, args);
-      return true;
-    }, false, sender, alias, args);
+    long startNanos = System.nanoTime();
+    CommandTracing tracing = this.tracing;
+    CommandCall call = tracing == null ? null : tracing.begin(ECallKind.INVOCATION, getName(), sender, alias, args, startNanos);
+    boolean handedOff = false;
+
+    try {
+      if (!tryAcquireRateLimit(invocationLimiter, sender)) {
+        handleError(new CommandError(null, EErrorType.RATE_LIMITED, null, true), sender, alias, args);
+        return true;
+      }
+
+      Subcommand subcommand = routeSubcommand(args, args.length);
+
+      if (executionMode == EExecutionMode.ASYNC) {
+        Supplier<Runnable> preparation = subcommand == null
+          ? () -> prepareInvocation(sender, alias, args)
+          : () -> prepareSubcommand(subcommand, sender, alias, args);
+
+        handedOff = executeAsync(sender, alias, args, preparation, tracing, call, startNanos);
+        return true;
+      }
+
+      return executeAndHandleCommandErrors(() -> {
+        if (subcommand == null)
+          onInvocation(sender, alias, args);
+        else
+          prepareSubcommand(subcommand, sender, alias, args).run();
+
+        return true;
+      }, false, sender, alias, args);
+    } finally {
+      // Invocations handed off to the async executor are measured up until their handler completed
+      if (!handedOff)
+        endInvocation(tracing, call, sender, alias, args, startNanos);
+      else if (tracing != null)
+        tracing.detach(startNanos);
+    }
   }
 
   @NotNull
   @Override
   public List<String> tabComplete(@NotNull CommandSender sender, @NotNull String alias, @NotNull String[] args) throws IllegalArgumentException {
-    return executeAndHandleCommandErrors(() -> onTabComplete(sender, alias, args), EMPTY_STRING_LIST, sender, alias, args);
+    // Completions are requested on every keystroke, so they're throttled silently
+    if (!tryAcquireRateLimit(completionLimiter, sender))
+      return EMPTY_STRING_LIST;
+
+    return completeSynchronously(sender, alias, args);
+  }
+
+  /**
+   * Computes completions on the completion executor, if enabled, or in place otherwise. A pending
+   * completion of the same sender is cancelled, as it has been superseded by a newer keystroke, and
+   * cancelled completions are dropped before they're computed.
+   */
+  public CompletableFuture<List<String>> tabCompleteAsync(CommandSender sender, String alias, String[] args) {
+    Executor executor = this.completionExecutor;
+
+    if (executor == null)
+      return CompletableFuture.completedFuture(tabComplete(sender, alias, args));
+
+    if (!tryAcquireRateLimit(completionLimiter, sender))
+      return CompletableFuture.completedFuture(EMPTY_STRING_LIST);
+
+    CompletableFuture<List<String>> result = new CompletableFuture<>();
+    CompletableFuture<List<String>> superseded = pendingCompletions.put(sender, result);
+
+    if (superseded != null)
+      superseded.cancel(false);
+
+    try {
+      executor.execute(() -> {
+        try {
+          if (result.isDone())
+            return;
+
+          long startNanos = System.nanoTime();
+          CommandTracing tracing = this.tracing;
+          CommandCall call = tracing == null ? null : tracing.begin(ECallKind.COMPLETION, getName(), sender, alias, args, startNanos);
+
+          try {
+            result.complete(completeCached(sender, alias, args));
+          } finally {
+            long endNanos = System.nanoTime();
+            metrics.recordCompletion(alias, endNanos - startNanos);
+
+            if (tracing != null)
+              tracing.end(call, ECallKind.COMPLETION, getName(), sender, alias, args, startNanos, endNanos);
+          }
+        } catch (Exception exception) {
+          result.complete(EMPTY_STRING_LIST);
+          sync(() -> handleException(exception, sender, alias, args));
+        } finally {
+          pendingCompletions.remove(sender, result);
+        }
+      });
+    } catch (RejectedExecutionException exception) {
+      pendingCompletions.remove(sender, result);
+      result.complete(completeSynchronously(sender, alias, args));
+    }
+
+    return result;
   }
 
   //=========================================================================//
   //                                Utilities                                //
   //=========================================================================//
 
-  @SuppressWarnings("unchecked")
-  protected <T extends Enum<?>> T enumParameter(String[] args, int argumentIndex, Class<T> enumClass) {
-    EnumInfo enumInfo = enumConstantsCache.computeIfAbsent(enumClass, EnumInfo::new);
-    Object constant = enumInfo.enumConstantByLowerCaseName.get(resolveArgument(args, argumentIndex).toLowerCase());
+  /**
+   * Runs a task on the server thread, which is done in place if already on the server thread
+   */
+  protected CompletableFuture<Void> sync(Runnable task) {
+    return sync(() -> {
+      task.run();
+      return null;
+    });
+  }
 
-    if (constant == null)
-      throw new CommandError(argumentIndex, EErrorType.MALFORMED_ENUM, enumInfo);
+  /**
+   * Computes a value on the server thread, which is done in place if already on the server thread.
+   * Errors, including {@link CommandError}s, complete the future exceptionally and are handled like any other
+   * error of the invocation if they propagate out of the asynchronous handler, for example through join().
+   */
+  protected <T> CompletableFuture<T> sync(Supplier<T> task) {
+    Executor executor = this.mainThreadExecutor;
+
+    if (executor == null || Bukkit.isPrimaryThread()) {
+      CompletableFuture<T> result = new CompletableFuture<>();
+
+      try {
+        result.complete(task.get());
+      } catch (Throwable e) {
+        result.completeExceptionally(e);
+      }
+
+      return result;
+    }
+
+    return CompletableFuture.supplyAsync(task, executor);
+  }
 
-    return (T) constant;
+  protected <T extends Enum<?>> ParseResult<T> tryEnumParameter(String[] args, int argumentIndex, Class<T> enumClass, ParseResult<T> result) {
+    return parseEnum(argumentOrNull(args, argumentIndex), argumentIndex, enumClass, result);
+  }
+
+  protected <T extends Enum<?>> T enumParameter(String[] args, int argumentIndex, Class<T> enumClass) {
+    return tryEnumParameter(args, argumentIndex, enumClass, new ParseResult<>()).orElseThrow();
   }
 
   protected <T extends Enum<?>> T enumParameterOrElse(String[] args, int argumentIndex, Class<T> enumClass, T fallback) {
-    return invokeIfArgPresentOrElse(() -> enumParameter(args, argumentIndex, enumClass), fallback);
+    return tryEnumParameter(args, argumentIndex, enumClass, new ParseResult<>()).orElse(fallback);
   }
 
-  protected Player playerParameter(String[] args, int argumentIndex) {
-    Player player = Bukkit.getPlayer(resolveArgument(args, argumentIndex));
+  protected List<String> enumCompletions(String[] args, int argumentIndex, Class<? extends Enum<?>> enumClass) {
+    return enumCompletions(args, argumentIndex, enumClass, Integer.MAX_VALUE);
+  }
 
-    if (player == null)
-      throw new CommandError(argumentIndex, EErrorType.PLAYER_NOT_ONLINE);
+  protected List<String> enumCompletions(String[] args, int argumentIndex, Class<? extends Enum<?>> enumClass, int limit) {
+    String prefix = isArgumentPresent(args, argumentIndex) ? args[argumentIndex] : "";
+    return markIfTruncated(EnumInfoCache.get(enumClass).getEnumConstantNamesStartingWith(prefix, limit), limit);
+  }
+
+  protected ParsedArguments parseArguments(String[] args) {
+    return requireSignature().parse(this, args);
+  }
+
+  protected List<String> signatureCompletions(String[] args) {
+    return requireSignature().complete(this, args);
+  }
 
-    return player;
+  protected ParseResult<Player> tryPlayerParameter(String[] args, int argumentIndex, ParseResult<Player> result) {
+    return parsePlayer(argumentOrNull(args, argumentIndex), argumentIndex, result);
+  }
+
+  protected Player playerParameter(String[] args, int argumentIndex) {
+    return tryPlayerParameter(args, argumentIndex, new ParseResult<>()).orElseThrow();
   }
 
   protected Player playerParameterOrElse(String[] args, int argumentIndex, Player fallback) {
-    return invokeIfArgPresentOrElse(() -> playerParameter(args, argumentIndex), fallback);
+    return tryPlayerParameter(args, argumentIndex, new ParseResult<>()).orElse(fallback);
   }
 
-  protected OfflinePlayer offlinePlayerParameter(String[] args, int argumentIndex, boolean hasToHavePlayed) {
-    OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(resolveArgument(args, argumentIndex));
+  protected List<String> playerCompletions(String[] args, int argumentIndex) {
+    return playerCompletions(args, argumentIndex, Integer.MAX_VALUE);
+  }
 
-    if (hasToHavePlayed && !offlinePlayer.hasPlayedBefore())
-      throw new CommandError(argumentIndex, EErrorType.PLAYER_UNKNOWN);
+  protected List<String> playerCompletions(String[] args, int argumentIndex, int limit) {
+    String prefix = isArgumentPresent(args, argumentIndex) ? args[argumentIndex] : "";
+    OnlinePlayerIndex playerIndex = this.onlinePlayerIndex;
+
+    if (playerIndex != null)
+      return markIfTruncated(playerIndex.getNamesStartingWith(prefix, limit), limit);
+
+    List<String> result = new ArrayList<>();
+
+    for (Player player : Bukkit.getOnlinePlayers()) {
+      if (result.size() >= limit)
+        break;
+
+      String name = player.getName();
+
+      if (name.regionMatches(true, 0, prefix, 0, prefix.length()))
+        result.add(name);
+    }
 
-    return offlinePlayer;
+    return markIfTruncated(result, limit);
+  }
+
+  protected ParseResult<OfflinePlayer> tryOfflinePlayerParameter(String[] args, int argumentIndex, boolean hasToHavePlayed, ParseResult<OfflinePlayer> result) {
+    return parseOfflinePlayer(argumentOrNull(args, argumentIndex), argumentIndex, hasToHavePlayed, result);
+  }
+
+  protected OfflinePlayer offlinePlayerParameter(String[] args, int argumentIndex, boolean hasToHavePlayed) {
+    return tryOfflinePlayerParameter(args, argumentIndex, hasToHavePlayed, new ParseResult<>()).orElseThrow();
   }
 
   protected OfflinePlayer offlinePlayerParameterOrElse(String[] args, int argumentIndex, boolean hasToHavePlayed, OfflinePlayer fallback) {
-    return invokeIfArgPresentOrElse(() -> offlinePlayerParameter(args, argumentIndex, hasToHavePlayed), fallback);
+    return tryOfflinePlayerParameter(args, argumentIndex, hasToHavePlayed, new ParseResult<>()).orElse(fallback);
   }
 
-  protected UUID uuidParameter(String[] args, int argumentIndex) {
-    try {
-      return UUID.fromString(resolveArgument(args, argumentIndex));
-    } catch (IllegalArgumentException exception) {
-      throw new CommandError(argumentIndex, EErrorType.MALFORMED_UUID);
+  /**
+   * Resolves an offline player without blocking the main thread, completing on the main thread.
+   * The future fails with a {@link CommandError} if the argument is missing or the player is unknown,
+   * which is best consumed by {@link #resume(CompletableFuture, CommandSender, String, String[], Consumer)}.
+   * If no resolver has been set, this call falls back to the blocking lookup. Names unknown to the resolver are
+   * only rejected if the player has to have played, and otherwise resolve just like {@link Bukkit#getOfflinePlayer(String)}.
+   */
+  protected CompletableFuture<OfflinePlayer> offlinePlayerParameterAsync(String[] args, int argumentIndex, boolean hasToHavePlayed) {
+    OfflinePlayerResolver resolver = this.offlinePlayerResolver;
+
+    if (resolver == null || !isArgumentPresent(args, argumentIndex)) {
+      CompletableFuture<OfflinePlayer> result = new CompletableFuture<>();
+      ParseResult<OfflinePlayer> parseResult = tryOfflinePlayerParameter(args, argumentIndex, hasToHavePlayed, new ParseResult<>());
+
+      if (parseResult.isSuccess())
+        result.complete(parseResult.getValue());
+      else
+        result.completeExceptionally(parseResult.toCommandError());
+
+      return result;
     }
+
+    if (!hasToHavePlayed)
+      return resolver.resolveOrCreate(args[argumentIndex]);
+
+    return resolver.resolve(args[argumentIndex]).thenApply(offlinePlayer -> {
+      if (offlinePlayer == null || !offlinePlayer.hasPlayedBefore())
+        throw new CommandError(argumentIndex, EErrorType.PLAYER_UNKNOWN, null, true);
+
+      return offlinePlayer;
+    });
+  }
+
+  /**
+   * Continues the invocation of a command once the provided future completed, while handling
+   * errors just as if they occurred within the initial invocation
+   */
+  protected <T> void resume(CompletableFuture<T> future, CommandSender sender, String alias, String[] args, Consumer<T> continuation) {
+    future.whenComplete((value, error) -> {
+      if (error != null) {
+        handleException(error, sender, alias, args);
+        return;
+      }
+
+      executeAndHandleCommandErrors(() -> {
+        continuation.accept(value);
+        return true;
+      }, false, sender, alias, args);
+    });
+  }
+
+  protected ParseResult<UUID> tryUuidParameter(String[] args, int argumentIndex, ParseResult<UUID> result) {
+    return parseUuid(argumentOrNull(args, argumentIndex), argumentIndex, result);
+  }
+
+  protected UUID uuidParameter(String[] args, int argumentIndex) {
+    return tryUuidParameter(args, argumentIndex, new ParseResult<>()).orElseThrow();
   }
 
   protected UUID uuidParameterOrElse(String[] args, int argumentIndex, UUID fallback) {
-    return invokeIfArgPresentOrElse(() -> uuidParameter(args, argumentIndex), fallback);
+    return tryUuidParameter(args, argumentIndex, new ParseResult<>()).orElse(fallback);
+  }
+
+  protected ParseResult<?> tryPrimitiveIntParameter(String[] args, int argumentIndex, ParseResult<?> result) {
+    return parsePrimitiveInt(argumentOrNull(args, argumentIndex), argumentIndex, result);
+  }
+
+  protected int primitiveIntParameter(String[] args, int argumentIndex) {
+    return tryPrimitiveIntParameter(args, argumentIndex, new ParseResult<>()).orElseThrowInt();
+  }
+
+  protected int primitiveIntParameterOrElse(String[] args, int argumentIndex, int fallback) {
+    return tryPrimitiveIntParameter(args, argumentIndex, new ParseResult<>()).orElseInt(fallback);
+  }
+
+  protected ParseResult<Integer> tryIntegerParameter(String[] args, int argumentIndex, ParseResult<Integer> result) {
+    if (!tryPrimitiveIntParameter(args, argumentIndex, result).isSuccess())
+      return result;
+
+    return result.succeed(result.getIntValue());
   }
 
   protected Integer integerParameter(String[] args, int argumentIndex) {
-    try {
-      return Integer.parseInt(resolveArgument(args, argumentIndex));
-    } catch (NumberFormatException exception) {
-      throw new CommandError(argumentIndex, EErrorType.MALFORMED_INTEGER);
-    }
+    return tryIntegerParameter(args, argumentIndex, new ParseResult<>()).orElseThrow();
   }
 
   protected Integer integerParameterOrElse(String[] args, int argumentIndex, Integer fallback) {
-    return invokeIfArgPresentOrElse(() -> integerParameter(args, argumentIndex), fallback);
+    return tryIntegerParameter(args, argumentIndex, new ParseResult<>()).orElse(fallback);
+  }
+
+  protected ParseResult<?> tryPrimitiveLongParameter(String[] args, int argumentIndex, ParseResult<?> result) {
+    return parsePrimitiveLong(argumentOrNull(args, argumentIndex), argumentIndex, result);
+  }
+
+  protected long primitiveLongParameter(String[] args, int argumentIndex) {
+    return tryPrimitiveLongParameter(args, argumentIndex, new ParseResult<>()).orElseThrowLong();
+  }
+
+  protected long primitiveLongParameterOrElse(String[] args, int argumentIndex, long fallback) {
+    return tryPrimitiveLongParameter(args, argumentIndex, new ParseResult<>()).orElseLong(fallback);
+  }
+
+  protected ParseResult<Long> tryLongParameter(String[] args, int argumentIndex, ParseResult<Long> result) {
+    if (!tryPrimitiveLongParameter(args, argumentIndex, result).isSuccess())
+      return result;
+
+    return result.succeed(result.getLongValue());
   }
 
   protected Long longParameter(String[] args, int argumentIndex) {
-    try {
-      return Long.parseLong(resolveArgument(args, argumentIndex));
-    } catch (NumberFormatException exception) {
-      throw new CommandError(argumentIndex, EErrorType.MALFORMED_LONG);
-    }
+    return tryLongParameter(args, argumentIndex, new ParseResult<>()).orElseThrow();
   }
 
   protected Long longParameterOrElse(String[] args, int argumentIndex, Long fallback) {
-    return invokeIfArgPresentOrElse(() -> longParameter(args, argumentIndex), fallback);
+    return tryLongParameter(args, argumentIndex, new ParseResult<>()).orElse(fallback);
+  }
+
+  protected ParseResult<?> tryPrimitiveDoubleParameter(String[] args, int argumentIndex, ParseResult<?> result) {
+    return parsePrimitiveDouble(argumentOrNull(args, argumentIndex), argumentIndex, result);
+  }
+
+  protected double primitiveDoubleParameter(String[] args, int argumentIndex) {
+    return tryPrimitiveDoubleParameter(args, argumentIndex, new ParseResult<>()).orElseThrowDouble();
+  }
+
+  protected double primitiveDoubleParameterOrElse(String[] args, int argumentIndex, double fallback) {
+    return tryPrimitiveDoubleParameter(args, argumentIndex, new ParseResult<>()).orElseDouble(fallback);
+  }
+
+  protected ParseResult<Double> tryDoubleParameter(String[] args, int argumentIndex, ParseResult<Double> result) {
+    if (!tryPrimitiveDoubleParameter(args, argumentIndex, result).isSuccess())
+      return result;
+
+    return result.succeed(result.getDoubleValue());
   }
 
   protected Double doubleParameter(String[] args, int argumentIndex) {
-    try {
-      return Double.parseDouble(resolveArgument(args, argumentIndex));
-    } catch (NumberFormatException exception) {
-      throw new CommandError(argumentIndex, EErrorType.MALFORMED_DOUBLE);
-    }
+    return tryDoubleParameter(args, argumentIndex, new ParseResult<>()).orElseThrow();
   }
 
   protected Double doubleParameterOrElse(String[] args, int argumentIndex, Double fallback) {
-    return invokeIfArgPresentOrElse(() -> doubleParameter(args, argumentIndex), fallback);
+    return tryDoubleParameter(args, argumentIndex, new ParseResult<>()).orElse(fallback);
+  }
+
+  protected ParseResult<?> tryPrimitiveFloatParameter(String[] args, int argumentIndex, ParseResult<?> result) {
+    return parsePrimitiveFloat(argumentOrNull(args, argumentIndex), argumentIndex, result);
+  }
+
+  protected float primitiveFloatParameter(String[] args, int argumentIndex) {
+    return tryPrimitiveFloatParameter(args, argumentIndex, new ParseResult<>()).orElseThrowFloat();
+  }
+
+  protected float primitiveFloatParameterOrElse(String[] args, int argumentIndex, float fallback) {
+    return tryPrimitiveFloatParameter(args, argumentIndex, new ParseResult<>()).orElseFloat(fallback);
+  }
+
+  protected ParseResult<Float> tryFloatParameter(String[] args, int argumentIndex, ParseResult<Float> result) {
+    if (!tryPrimitiveFloatParameter(args, argumentIndex, result).isSuccess())
+      return result;
+
+    return result.succeed(result.getFloatValue());
   }
 
   protected Float floatParameter(String[] args, int argumentIndex) {
-    try {
-      return Float.parseFloat(resolveArgument(args, argumentIndex));
-    } catch (NumberFormatException exception) {
-      throw new CommandError(argumentIndex, EErrorType.MALFORMED_FLOAT);
-    }
+    return tryFloatParameter(args, argumentIndex, new ParseResult<>()).orElseThrow();
   }
 
   protected Float floatParameterOrElse(String[] args, int argumentIndex, Float fallback) {
-    return invokeIfArgPresentOrElse(() -> floatParameter(args, argumentIndex), fallback);
+    return tryFloatParameter(args, argumentIndex, new ParseResult<>()).orElse(fallback);
+  }
+
+  //=========================================================================//
+  //                            Token Parameters                             //
+  //=========================================================================//
+
+  // Counterparts of the typed helpers above, which parse views of tokens in place and report
+  // errors against the tokens, such that the argument index of an error points at the right token
+
+  protected ParsedArguments parseArguments(CommandTokens tokens) {
+    return requireSignature().parse(this, tokens);
+  }
+
+  protected <T extends Enum<?>> ParseResult<T> tryEnumParameter(CommandTokens tokens, int argumentIndex, Class<T> enumClass, ParseResult<T> result) {
+    return parseEnum(argumentOrNull(tokens, argumentIndex), argumentIndex, enumClass, result).within(tokens);
+  }
+
+  protected <T extends Enum<?>> T enumParameter(CommandTokens tokens, int argumentIndex, Class<T> enumClass) {
+    return tryEnumParameter(tokens, argumentIndex, enumClass, new ParseResult<>()).orElseThrow();
+  }
+
+  protected <T extends Enum<?>> T enumParameterOrElse(CommandTokens tokens, int argumentIndex, Class<T> enumClass, T fallback) {
+    return tryEnumParameter(tokens, argumentIndex, enumClass, new ParseResult<>()).orElse(fallback);
+  }
+
+  protected ParseResult<Player> tryPlayerParameter(CommandTokens tokens, int argumentIndex, ParseResult<Player> result) {
+    return parsePlayer(stringOrNull(tokens, argumentIndex), argumentIndex, result).within(tokens);
+  }
+
+  protected Player playerParameter(CommandTokens tokens, int argumentIndex) {
+    return tryPlayerParameter(tokens, argumentIndex, new ParseResult<>()).orElseThrow();
+  }
+
+  protected Player playerParameterOrElse(CommandTokens tokens, int argumentIndex, Player fallback) {
+    return tryPlayerParameter(tokens, argumentIndex, new ParseResult<>()).orElse(fallback);
+  }
+
+  protected ParseResult<OfflinePlayer> tryOfflinePlayerParameter(CommandTokens tokens, int argumentIndex, boolean hasToHavePlayed, ParseResult<OfflinePlayer> result) {
+    return parseOfflinePlayer(stringOrNull(tokens, argumentIndex), argumentIndex, hasToHavePlayed, result).within(tokens);
+  }
+
+  protected OfflinePlayer offlinePlayerParameter(CommandTokens tokens, int argumentIndex, boolean hasToHavePlayed) {
+    return tryOfflinePlayerParameter(tokens, argumentIndex, hasToHavePlayed, new ParseResult<>()).orElseThrow();
+  }
+
+  protected OfflinePlayer offlinePlayerParameterOrElse(CommandTokens tokens, int argumentIndex, boolean hasToHavePlayed, OfflinePlayer fallback) {
+    return tryOfflinePlayerParameter(tokens, argumentIndex, hasToHavePlayed, new ParseResult<>()).orElse(fallback);
+  }
+
+  protected ParseResult<UUID> tryUuidParameter(CommandTokens tokens, int argumentIndex, ParseResult<UUID> result) {
+    return parseUuid(stringOrNull(tokens, argumentIndex), argumentIndex, result).within(tokens);
+  }
+
+  protected UUID uuidParameter(CommandTokens tokens, int argumentIndex) {
+    return tryUuidParameter(tokens, argumentIndex, new ParseResult<>()).orElseThrow();
+  }
+
+  protected UUID uuidParameterOrElse(CommandTokens tokens, int argumentIndex, UUID fallback) {
+    return tryUuidParameter(tokens, argumentIndex, new ParseResult<>()).orElse(fallback);
+  }
+
+  protected ParseResult<?> tryPrimitiveIntParameter(CommandTokens tokens, int argumentIndex, ParseResult<?> result) {
+    return parsePrimitiveInt(argumentOrNull(tokens, argumentIndex), argumentIndex, result).within(tokens);
+  }
+
+  protected int primitiveIntParameter(CommandTokens tokens, int argumentIndex) {
+    return tryPrimitiveIntParameter(tokens, argumentIndex, new ParseResult<>()).orElseThrowInt();
+  }
+
+  protected int primitiveIntParameterOrElse(CommandTokens tokens, int argumentIndex, int fallback) {
+    return tryPrimitiveIntParameter(tokens, argumentIndex, new ParseResult<>()).orElseInt(fallback);
+  }
+
+  protected ParseResult<Integer> tryIntegerParameter(CommandTokens tokens, int argumentIndex, ParseResult<Integer> result) {
+    if (!tryPrimitiveIntParameter(tokens, argumentIndex, result).isSuccess())
+      return result;
+
+    return result.succeed(result.getIntValue());
+  }
+
+  protected Integer integerParameter(CommandTokens tokens, int argumentIndex) {
+    return tryIntegerParameter(tokens, argumentIndex, new ParseResult<>()).orElseThrow();
+  }
+
+  protected Integer integerParameterOrElse(CommandTokens tokens, int argumentIndex, Integer fallback) {
+    return tryIntegerParameter(tokens, argumentIndex, new ParseResult<>()).orElse(fallback);
+  }
+
+  protected ParseResult<?> tryPrimitiveLongParameter(CommandTokens tokens, int argumentIndex, ParseResult<?> result) {
+    return parsePrimitiveLong(argumentOrNull(tokens, argumentIndex), argumentIndex, result).within(tokens);
+  }
+
+  protected long primitiveLongParameter(CommandTokens tokens, int argumentIndex) {
+    return tryPrimitiveLongParameter(tokens, argumentIndex, new ParseResult<>()).orElseThrowLong();
+  }
+
+  protected long primitiveLongParameterOrElse(CommandTokens tokens, int argumentIndex, long fallback) {
+    return tryPrimitiveLongParameter(tokens, argumentIndex, new ParseResult<>()).orElseLong(fallback);
+  }
+
+  protected ParseResult<Long> tryLongParameter(CommandTokens tokens, int argumentIndex, ParseResult<Long> result) {
+    if (!tryPrimitiveLongParameter(tokens, argumentIndex, result).isSuccess())
+      return result;
+
+    return result.succeed(result.getLongValue());
+  }
+
+  protected Long longParameter(CommandTokens tokens, int argumentIndex) {
+    return tryLongParameter(tokens, argumentIndex, new ParseResult<>()).orElseThrow();
+  }
+
+  protected Long longParameterOrElse(CommandTokens tokens, int argumentIndex, Long fallback) {
+    return tryLongParameter(tokens, argumentIndex, new ParseResult<>()).orElse(fallback);
+  }
+
+  protected ParseResult<?> tryPrimitiveDoubleParameter(CommandTokens tokens, int argumentIndex, ParseResult<?> result) {
+    return parsePrimitiveDouble(argumentOrNull(tokens, argumentIndex), argumentIndex, result).within(tokens);
+  }
+
+  protected double primitiveDoubleParameter(CommandTokens tokens, int argumentIndex) {
+    return tryPrimitiveDoubleParameter(tokens, argumentIndex, new ParseResult<>()).orElseThrowDouble();
+  }
+
+  protected double primitiveDoubleParameterOrElse(CommandTokens tokens, int argumentIndex, double fallback) {
+    return tryPrimitiveDoubleParameter(tokens, argumentIndex, new ParseResult<>()).orElseDouble(fallback);
+  }
+
+  protected ParseResult<Double> tryDoubleParameter(CommandTokens tokens, int argumentIndex, ParseResult<Double> result) {
+    if (!tryPrimitiveDoubleParameter(tokens, argumentIndex, result).isSuccess())
+      return result;
+
+    return result.succeed(result.getDoubleValue());
+  }
+
+  protected Double doubleParameter(CommandTokens tokens, int argumentIndex) {
+    return tryDoubleParameter(tokens, argumentIndex, new ParseResult<>()).orElseThrow();
+  }
+
+  protected Double doubleParameterOrElse(CommandTokens tokens, int argumentIndex, Double fallback) {
+    return tryDoubleParameter(tokens, argumentIndex, new ParseResult<>()).orElse(fallback);
+  }
+
+  protected ParseResult<?> tryPrimitiveFloatParameter(CommandTokens tokens, int argumentIndex, ParseResult<?> result) {
+    return parsePrimitiveFloat(argumentOrNull(tokens, argumentIndex), argumentIndex, result).within(tokens);
+  }
+
+  protected float primitiveFloatParameter(CommandTokens tokens, int argumentIndex) {
+    return tryPrimitiveFloatParameter(tokens, argumentIndex, new ParseResult<>()).orElseThrowFloat();
+  }
+
+  protected float primitiveFloatParameterOrElse(CommandTokens tokens, int argumentIndex, float fallback) {
+    return tryPrimitiveFloatParameter(tokens, argumentIndex, new ParseResult<>()).orElseFloat(fallback);
+  }
+
+  protected ParseResult<Float> tryFloatParameter(CommandTokens tokens, int argumentIndex, ParseResult<Float> result) {
+    if (!tryPrimitiveFloatParameter(tokens, argumentIndex, result).isSuccess())
+      return result;
+
+    return result.succeed(result.getFloatValue());
+  }
+
+  protected Float floatParameter(CommandTokens tokens, int argumentIndex) {
+    return tryFloatParameter(tokens, argumentIndex, new ParseResult<>()).orElseThrow();
+  }
+
+  protected Float floatParameterOrElse(CommandTokens tokens, int argumentIndex, Float fallback) {
+    return tryFloatParameter(tokens, argumentIndex, new ParseResult<>()).orElse(fallback);
   }
 
   //=========================================================================//
   //                                Internals                                //
   //=========================================================================//
 
-  private <T> T invokeIfArgPresentOrElse(Supplier<T> executable, T fallback) {
-    try {
-      return executable.get();
-    } catch (CommandError error) {
-      if (error.errorType == EErrorType.MISSING_ARGUMENT)
-        return fallback;
-      throw error;
-    }
+  // Reaching the limit means that there may have been further completions
+  private static List<String> markIfTruncated(List<String> completions, int limit) {
+    if (completions.size() >= limit)
+      TabCompletionCache.markTruncated();
+
+    return completions;
+  }
+
+  private CommandSignature requireSignature() {
+    if (this.signature == null)
+      throw new IllegalStateException("This command has not declared a signature");
+
+    return this.signature;
+  }
+
+  private boolean isArgumentPresent(String[] args, int argumentIndex) {
+    if (argumentIndex < 0)
+      throw new IllegalArgumentException("Argument indices start at zero");
+
+    return argumentIndex < args.length;
   }
 
-  private String resolveArgument(String[] args, int argumentIndex) {
+  private @Nullable String argumentOrNull(String[] args, int argumentIndex) {
+    return isArgumentPresent(args, argumentIndex) ? args[argumentIndex] : null;
+  }
+
+  private @Nullable CharSequence argumentOrNull(CommandTokens tokens, int argumentIndex) {
     if (argumentIndex < 0)
       throw new IllegalArgumentException("Argument indices start at zero");
 
-    if (argumentIndex >= args.length)
-      throw new CommandError(argumentIndex, EErrorType.MISSING_ARGUMENT);
+    return argumentIndex < tokens.size() ? tokens.get(argumentIndex) : null;
+  }
+
+  private @Nullable String stringOrNull(CommandTokens tokens, int argumentIndex) {
+    return argumentOrNull(tokens, argumentIndex) == null ? null : tokens.getString(argumentIndex);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T extends Enum<?>> ParseResult<T> parseEnum(@Nullable CharSequence input, int argumentIndex, Class<T> enumClass, ParseResult<T> result) {
+    if (input == null)
+      return result.fail(argumentIndex, EErrorType.MISSING_ARGUMENT);
+
+    EnumInfo enumInfo = EnumInfoCache.get(enumClass);
+    Enum<?> constant = enumInfo.getEnumConstant(input);
+
+    if (constant == null)
+      return result.fail(argumentIndex, EErrorType.MALFORMED_ENUM, enumInfo);
+
+    return result.succeed((T) constant);
+  }
+
+  private ParseResult<Player> parsePlayer(@Nullable String input, int argumentIndex, ParseResult<Player> result) {
+    if (input == null)
+      return result.fail(argumentIndex, EErrorType.MISSING_ARGUMENT);
+
+    OnlinePlayerIndex playerIndex = this.onlinePlayerIndex;
+    Player player = playerIndex == null ? Bukkit.getPlayer(input) : playerIndex.getPlayer(input);
+
+    if (player == null)
+      return result.fail(argumentIndex, EErrorType.PLAYER_NOT_ONLINE);
+
+    return result.succeed(player);
+  }
+
+  private ParseResult<OfflinePlayer> parseOfflinePlayer(@Nullable String input, int argumentIndex, boolean hasToHavePlayed, ParseResult<OfflinePlayer> result) {
+    if (input == null)
+      return result.fail(argumentIndex, EErrorType.MISSING_ARGUMENT);
+
+    OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(input);
+
+    if (hasToHavePlayed && !offlinePlayer.hasPlayedBefore())
+      return result.fail(argumentIndex, EErrorType.PLAYER_UNKNOWN);
+
+    return result.succeed(offlinePlayer);
+  }
+
+  private static ParseResult<UUID> parseUuid(@Nullable String input, int argumentIndex, ParseResult<UUID> result) {
+    if (input == null)
+      return result.fail(argumentIndex, EErrorType.MISSING_ARGUMENT);
+
+    try {
+      return result.succeed(UUID.fromString(input));
+    } catch (IllegalArgumentException exception) {
+      return result.fail(argumentIndex, EErrorType.MALFORMED_UUID);
+    }
+  }
+
+  private static ParseResult<?> parsePrimitiveInt(@Nullable CharSequence input, int argumentIndex, ParseResult<?> result) {
+    if (input == null)
+      return result.fail(argumentIndex, EErrorType.MISSING_ARGUMENT);
+
+    if (!NumberParser.parseInt(input, result))
+      return result.fail(argumentIndex, EErrorType.MALFORMED_INTEGER);
+
+    return result;
+  }
+
+  private static ParseResult<?> parsePrimitiveLong(@Nullable CharSequence input, int argumentIndex, ParseResult<?> result) {
+    if (input == null)
+      return result.fail(argumentIndex, EErrorType.MISSING_ARGUMENT);
+
+    if (!NumberParser.parseLong(input, Long.MIN_VALUE, Long.MAX_VALUE, result))
+      return result.fail(argumentIndex, EErrorType.MALFORMED_LONG);
+
+    return result;
+  }
+
+  private static ParseResult<?> parsePrimitiveDouble(@Nullable CharSequence input, int argumentIndex, ParseResult<?> result) {
+    if (input == null)
+      return result.fail(argumentIndex, EErrorType.MISSING_ARGUMENT);
+
+    if (!NumberParser.parseDouble(input, result))
+      return result.fail(argumentIndex, EErrorType.MALFORMED_DOUBLE);
+
+    return result;
+  }
+
+  private static ParseResult<?> parsePrimitiveFloat(@Nullable CharSequence input, int argumentIndex, ParseResult<?> result) {
+    if (input == null)
+      return result.fail(argumentIndex, EErrorType.MISSING_ARGUMENT);
+
+    if (!NumberParser.parseFloat(input, result))
+      return result.fail(argumentIndex, EErrorType.MALFORMED_FLOAT);
+
+    return result;
+  }
+
+  private static List<String> toLabels(List<String> aliases) {
+    List<String> result = new ArrayList<>(aliases.size());
+
+    for (String alias : aliases)
+      result.add(alias.toLowerCase(Locale.ROOT));
+
+    return result;
+  }
 
-    return args[argumentIndex];
+  private static @Nullable RateLimiter createRateLimiter(@Nullable RateLimit limit) {
+    return limit == null ? null : new RateLimiter(limit);
+  }
+
+  private static boolean tryAcquireRateLimit(@Nullable RateLimiter limiter, CommandSender sender) {
+    if (limiter == null)
+      return true;
+
+    String bypassPermission = limiter.getLimit().bypassPermission;
+
+    if (bypassPermission != null && sender.hasPermission(bypassPermission))
+      return true;
+
+    // Players are keyed by their id, such that reconnecting doesn't reset their buckets
+    Object key = sender instanceof Player ? ((Player) sender).getUniqueId() : sender.getName();
+    return limiter.tryAcquire(key);
+  }
+
+  private List<String> completeSynchronously(CommandSender sender, String alias, String[] args) {
+    long startNanos = System.nanoTime();
+    CommandTracing tracing = this.tracing;
+    CommandCall call = tracing == null ? null : tracing.begin(ECallKind.COMPLETION, getName(), sender, alias, args, startNanos);
+
+    try {
+      return executeAndHandleCommandErrors(() -> completeCached(sender, alias, args), EMPTY_STRING_LIST, sender, alias, args);
+    } finally {
+      long endNanos = System.nanoTime();
+      metrics.recordCompletion(alias, endNanos - startNanos);
+
+      if (tracing != null)
+        tracing.end(call, ECallKind.COMPLETION, getName(), sender, alias, args, startNanos, endNanos);
+    }
+  }
+
+  private List<String> completeCached(CommandSender sender, String alias, String[] args) {
+    TabCompletionCache cache = this.completionCache;
+
+    if (cache == null)
+      return dispatchCompletion(sender, alias, args);
+
+    return cache.complete(sender, getName(), alias, args, () -> dispatchCompletion(sender, alias, args));
+  }
+
+  private List<String> dispatchCompletion(CommandSender sender, String alias, String[] args) {
+    RadixTree<Subcommand> roots = this.subcommands;
+
+    if (roots == null || args.length == 0)
+      return onTabComplete(sender, alias, args);
+
+    int lastIndex = args.length - 1;
+    Subcommand parent = routeSubcommand(args, lastIndex);
+    int nextIndex = parent == null ? 0 : parent.getDepth() + 1;
+
+    // Not a single subcommand matched, while there are arguments preceding the one being completed
+    if (parent == null && lastIndex != 0)
+      return onTabComplete(sender, alias, args);
+
+    if (parent != null && !parent.isPermitted(sender))
+      return EMPTY_STRING_LIST;
+
+    RadixTree<Subcommand> level = parent == null ? roots : parent.getChildren();
+
+    if (nextIndex == lastIndex && level.size() > 0) {
+      List<String> result = new ArrayList<>();
+
+      for (String name : level.getNamesStartingWith(args[lastIndex], Integer.MAX_VALUE)) {
+        Subcommand subcommand = level.get(name);
+
+        if (subcommand != null && subcommand.isPermitted(sender))
+          result.add(name);
+      }
+
+      return result;
+    }
+
+    if (parent == null)
+      return onTabComplete(sender, alias, args);
+
+    ISubcommandCompleter completer = parent.getCompleter();
+
+    if (completer == null)
+      return EMPTY_STRING_LIST;
+
+    return completer.onTabComplete(sender, alias, args);
+  }
+
+  /**
+   * Walks the subcommand tree along the leading arguments, in time proportional to their length
+   * @return Deepest subcommand matched within the first {@code length} arguments, if any
+   */
+  private @Nullable Subcommand routeSubcommand(String[] args, int length) {
+    RadixTree<Subcommand> level = this.subcommands;
+    Subcommand result = null;
+
+    if (level == null)
+      return null;
+
+    for (int index = 0; index < length; index++) {
+      Subcommand next = level.get(args[index]);
+
+      if (next == null)
+        break;
+
+      result = next;
+      level = next.getChildren();
+    }
+
+    return result;
+  }
+
+  private Runnable prepareSubcommand(Subcommand subcommand, CommandSender sender, String alias, String[] args) {
+    if (!subcommand.isPermitted(sender))
+      throw new CommandError(subcommand.getDepth(), EErrorType.MISSING_PERMISSION, null, true);
+
+    ISubcommandHandler handler = subcommand.getHandler();
+
+    // Subcommands without a handler only group their children, one of which is required
+    if (handler == null)
+      throw new CommandError(subcommand.getDepth() + 1, EErrorType.MISSING_ARGUMENT, null, true);
+
+    return () -> handler.onInvocation(sender, alias, args);
+  }
+
+  /**
+   * @return Whether the handler has been handed off to the async executor, which then ends the invocation
+   */
+  private boolean executeAsync(
+    CommandSender sender,
+    String alias,
+    String[] args,
+    Supplier<Runnable> preparation,
+    @Nullable CommandTracing tracing,
+    @Nullable CommandCall call,
+    long startNanos
+  ) {
+    Runnable handler = executeAndHandleCommandErrors(preparation, null, sender, alias, args);
+
+    if (handler == null)
+      return false;
+
+    Executor executor = Objects.requireNonNull(this.asyncExecutor);
+
+    try {
+      executor.execute(() -> {
+        try {
+          handler.run();
+        } catch (Exception exception) {
+          // Deliver errors on the server thread, just as they would have been in synchronous mode
+          sync(() -> handleException(exception, sender, alias, args));
+        } finally {
+          endInvocation(tracing, call, sender, alias, args, startNanos);
+        }
+      });
+    } catch (RejectedExecutionException exception) {
+      // The executor has been shut down or is saturated, so the handler runs in place instead of being lost
+      executeAndHandleCommandErrors(() -> {
+        handler.run();
+        return null;
+      }, null, sender, alias, args);
+
+      return false;
+    }
+
+    return true;
+  }
+
+  private void endInvocation(
+    @Nullable CommandTracing tracing,
+    @Nullable CommandCall call,
+    CommandSender sender,
+    String alias,
+    String[] args,
+    long startNanos
+  ) {
+    long endNanos = System.nanoTime();
+    metrics.recordInvocation(alias, endNanos - startNanos);
+
+    if (tracing != null)
+      tracing.end(call, ECallKind.INVOCATION, getName(), sender, alias, args, startNanos, endNanos);
   }
 
   private <T> T executeAndHandleCommandErrors(Supplier<T> executable, T returnValueOnError, CommandSender sender, String alias, String[] args) {
     try {
       return executable.get();
-    } catch (CommandError commandError) {
-      handleError(commandError, sender, alias, args);
-      return returnValueOnError;
     } catch (Exception exception) {
-      this.logger.log(Level.SEVERE, exception, () -> "An error occurred while executing a command");
-      ErrorContext context = new ErrorContext(sender, alias, args, null);
-      sender.sendMessage(configProvider.getInternalErrorMessage(context));
+      handleException(exception, sender, alias, args);
       return returnValueOnError;
     }
   }
 
+  private void handleException(Throwable exception, CommandSender sender, String alias, String[] args) {
+    // Errors which travelled through futures are wrapped
+    if (exception instanceof CompletionException && exception.getCause() != null)
+      exception = exception.getCause();
+
+    if (exception instanceof CommandError) {
+      handleError((CommandError) exception, sender, alias, args);
+      return;
+    }
+
+    this.logger.log(Level.SEVERE, exception, () -> "An error occurred while executing a command");
+    metrics.recordInternalError(alias);
+    ErrorContext context = createErrorContext(sender, alias, args, null);
+    sender.sendMessage(configProvider.getInternalErrorMessage(context));
+  }
+
   private void handleError(CommandError error, CommandSender sender, String alias, String[] args) {
-    ErrorContext context = new ErrorContext(sender, alias, args, error.argumentIndex);
+    metrics.recordError(alias, error.errorType);
+
+    ISuggestionSource suggestionSource = null;
+    OnlinePlayerIndex onlinePlayerIndex = this.onlinePlayerIndex;
+
+    // Suggestions are only offered if they can be served from an index, which is only searched if the message asks for them
+    if (error.errorType == EErrorType.PLAYER_NOT_ONLINE && onlinePlayerIndex != null)
+      suggestionSource = onlinePlayerIndex.getSuggestionTree();
+
+    // Errors of tokenized arguments are to be reported against the tokens their index refers to
+    String[] reportedArgs = error.tokens == null ? args : error.tokens.toStringArray();
+    ErrorContext context = createErrorContext(sender, alias, reportedArgs, error.argumentIndex, suggestionSource);
 
     String message;
     switch (error.errorType) {
@@ -266,10 +1292,44 @@ public abstract class BukkitCommand extends Command {
       case PLAYER_NOT_ONLINE:
         message = configProvider.getPlayerNotOnlineMessage(context);
         break;
+      case MISSING_PERMISSION:
+        message = configProvider.getMissingPermissionMessage(context);
+        break;
+      case RATE_LIMITED:
+        message = configProvider.getRateLimitedMessage(context);
+        break;
+      case TOO_MANY_ARGUMENTS:
+        message = configProvider.getTooManyArgumentsMessage(context);
+        break;
       default:
         throw new IllegalStateException("Encountered unimplemented error type: " + error.errorType);
     }
 
     sender.sendMessage(message);
   }
+
+  private ErrorContext createErrorContext(CommandSender sender, String alias, String[] args, @Nullable Integer argumentIndex) {
+    return createErrorContext(sender, alias, args, argumentIndex, null);
+  }
+
+  private ErrorContext createErrorContext(
+    CommandSender sender,
+    String alias,
+    String[] args,
+    @Nullable Integer argumentIndex,
+    @Nullable ISuggestionSource suggestionSource
+  ) {
+    Subcommand subcommand = routeSubcommand(args, args.length);
+    String defaultUsage, usageKey = null;
+
+    if (subcommand != null) {
+      defaultUsage = "/" + alias + " " + subcommand.getUsage();
+      usageKey = subcommand.getUsageKey();
+    } else {
+      CommandSignature signature = this.signature;
+      defaultUsage = signature == null ? null : "/" + alias + " " + signature.getUsage();
+    }
+
+    return new ErrorContext(sender, alias, args, argumentIndex, defaultUsage, usageKey, suggestionSource);
+  }
 }
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.SimpleCommandMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Access to the server's command map, which is not exposed by the API and thereby looked up
+ * reflectively from the server implementation once
+ */
+public final class CommandMapAccess {
+
+  private static volatile @Nullable SimpleCommandMap commandMap;
+
+  private CommandMapAccess() {}
+
+  public static @Nullable SimpleCommandMap getCommandMap() {
+    SimpleCommandMap result = commandMap;
+
+    if (result != null)
+      return result;
+
+    try {
+      Method getter = Bukkit.getServer().getClass().getMethod("getCommandMap");
+      CommandMap map = (CommandMap) getter.invoke(Bukkit.getServer());
+
+      if (!(map instanceof SimpleCommandMap))
+        return null;
+
+      commandMap = result = (SimpleCommandMap) map;
+      return result;
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return Fallback prefix the command has been registered under, or null if it's not registered
+   */
+  public static @Nullable String findFallbackPrefix(Map<String, Command> knownCommands, Command command) {
+    String suffix = ":" + command.getName().toLowerCase(Locale.ROOT);
+
+    for (Map.Entry<String, Command> entry : knownCommands.entrySet()) {
+      String label = entry.getKey();
+
+      if (entry.getValue() == command && label.endsWith(suffix))
+        return label.substring(0, label.length() - suffix.length());
+    }
+
+    return null;
+  }
+
+  /**
+   * Replaces the alias labels of an already registered command, while leaving labels of other commands untouched
+   * @return Aliases which could not be registered, as they are taken by other commands
+   */
+  public static List<String> replaceAliases(Command command, Collection<String> oldAliases, Collection<String> newAliases) {
+    SimpleCommandMap map = getCommandMap();
+
+    if (map == null)
+      return Collections.emptyList();
+
+    Map<String, Command> knownCommands = map.getKnownCommands();
+    String fallbackPrefix = findFallbackPrefix(knownCommands, command);
+
+    if (fallbackPrefix == null)
+      return Collections.emptyList();
+
+    for (String alias : oldAliases) {
+      String label = alias.toLowerCase(Locale.ROOT);
+      knownCommands.remove(label, command);
+      knownCommands.remove(fallbackPrefix + ":" + label, command);
+    }
+
+    List<String> collisions = new ArrayList<>();
+
+    for (String alias : newAliases) {
+      String label = alias.toLowerCase(Locale.ROOT);
+      knownCommands.putIfAbsent(fallbackPrefix + ":" + label, command);
+
+      Command holder = knownCommands.putIfAbsent(label, command);
+
+      if (holder != null && holder != command)
+        collisions.add(alias);
+    }
+
+    return collisions;
+  }
+}
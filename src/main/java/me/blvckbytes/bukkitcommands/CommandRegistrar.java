@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import me.blvckbytes.bukkitcommands.metrics.CommandMetricsRegistry;
+import org.bukkit.command.Command;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.plugin.Plugin;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Registers batches of commands within a single pass over the command map, after having checked
+ * them for colliding labels, and requests a single, deferred resync of the command tree per batch
+ * instead of one per command.
+ */
+public class CommandRegistrar {
+
+  private final String fallbackPrefix;
+  private final Logger logger;
+  private final CommandTreeSynchronizer synchronizer;
+  private final List<BukkitCommand> registeredCommands;
+
+  public CommandRegistrar(Plugin plugin, CommandTreeSynchronizer synchronizer) {
+    this.fallbackPrefix = plugin.getName().toLowerCase(Locale.ROOT);
+    this.logger = plugin.getLogger();
+    this.synchronizer = synchronizer;
+    this.registeredCommands = new ArrayList<>();
+  }
+
+  public CommandRegistrar(Plugin plugin) {
+    this(plugin, new CommandTreeSynchronizer(plugin));
+  }
+
+  /**
+   * Registers all commands, which have to be called on the server thread
+   * @return Labels which are already taken by other plugins' commands and thereby only reachable with the fallback prefix
+   * @throws IllegalArgumentException If labels collide within the batch, in which case nothing is registered
+   */
+  public List<String> registerAll(Collection<? extends BukkitCommand> commands) {
+    SimpleCommandMap commandMap = CommandMapAccess.getCommandMap();
+
+    if (commandMap == null)
+      throw new IllegalStateException("Could not access the server's command map");
+
+    Map<String, BukkitCommand> commandByLabel = new HashMap<>();
+
+    for (BukkitCommand command : commands) {
+      for (String label : getLabels(command)) {
+        BukkitCommand holder = commandByLabel.putIfAbsent(label, command);
+
+        if (holder != null && holder != command)
+          throw new IllegalArgumentException("The label " + label + " is used by both " + holder.getName() + " and " + command.getName());
+      }
+    }
+
+    Map<String, Command> knownCommands = commandMap.getKnownCommands();
+    List<String> collisions = new ArrayList<>();
+
+    for (Map.Entry<String, BukkitCommand> entry : commandByLabel.entrySet()) {
+      Command holder = knownCommands.get(entry.getKey());
+
+      if (holder != null && holder != entry.getValue())
+        collisions.add(entry.getKey());
+    }
+
+    for (String label : collisions)
+      logger.warning("The label " + label + " is already taken and only reachable as " + fallbackPrefix + ":" + label);
+
+    commandMap.registerAll(fallbackPrefix, new ArrayList<>(commands));
+
+    for (BukkitCommand command : commands) {
+      command.setCommandTreeSynchronizer(synchronizer);
+      CommandMetricsRegistry.register(getPrefixedLabel(command), command.getMetrics());
+      registeredCommands.add(command);
+    }
+
+    synchronizer.requestResyncAll();
+    return collisions;
+  }
+
+  public List<String> registerAll(BukkitCommand... commands) {
+    return registerAll(Arrays.asList(commands));
+  }
+
+  /**
+   * Removes all commands registered by this registrar from the command map, as is to be done when disabling
+   */
+  public void unregisterAll() {
+    SimpleCommandMap commandMap = CommandMapAccess.getCommandMap();
+
+    if (commandMap == null || registeredCommands.isEmpty())
+      return;
+
+    for (BukkitCommand command : registeredCommands)
+      removeFromCommandMap(commandMap, command);
+
+    registeredCommands.clear();
+    synchronizer.requestResyncAll();
+  }
+
+  /**
+   * Removes a single command registered by this registrar from the command map
+   * @return Whether the command has been registered by this registrar
+   */
+  public boolean unregister(BukkitCommand command) {
+    SimpleCommandMap commandMap = CommandMapAccess.getCommandMap();
+
+    if (commandMap == null || !registeredCommands.remove(command))
+      return false;
+
+    removeFromCommandMap(commandMap, command);
+    synchronizer.requestResyncAll();
+    return true;
+  }
+
+  public CommandTreeSynchronizer getSynchronizer() {
+    return synchronizer;
+  }
+
+  private void removeFromCommandMap(SimpleCommandMap commandMap, BukkitCommand command) {
+    commandMap.getKnownCommands().values().removeIf(registered -> registered == command);
+    command.unregister(commandMap);
+    command.setCommandTreeSynchronizer(null);
+    CommandMetricsRegistry.unregister(getPrefixedLabel(command), command.getMetrics());
+  }
+
+  private String getPrefixedLabel(Command command) {
+    return fallbackPrefix + ":" + command.getName().toLowerCase(Locale.ROOT);
+  }
+
+  private static List<String> getLabels(Command command) {
+    List<String> labels = new ArrayList<>();
+    labels.add(command.getName().toLowerCase(Locale.ROOT));
+
+    for (String alias : command.getAliases())
+      labels.add(alias.toLowerCase(Locale.ROOT));
+
+    return labels;
+  }
+}
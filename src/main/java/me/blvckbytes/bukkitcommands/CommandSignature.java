@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import me.blvckbytes.bukkitcommands.error.EErrorType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Declarative description of the positional, optional and greedy arguments of a command,
+ * which has been compiled into flat lookup tables by {@link CommandSignatureBuilder}. The same
+ * signature drives parsing, tab completion as well as usage strings.
+ */
+public class CommandSignature {
+
+  private final String[] names;
+  private final ArgumentType<?>[] types;
+  private final int requiredCount;
+  private final boolean lastIsGreedy;
+  private final String usage;
+
+  CommandSignature(String[] names, ArgumentType<?>[] types, int requiredCount, boolean lastIsGreedy) {
+    this.names = names;
+    this.types = types;
+    this.requiredCount = requiredCount;
+    this.lastIsGreedy = lastIsGreedy;
+    this.usage = buildUsage();
+  }
+
+  /**
+   * Parses all arguments in a single pass, throwing on the first missing or malformed argument,
+   * as well as on surplus arguments if there's no greedy argument to consume them
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public ParsedArguments parse(BukkitCommand command, String[] args) {
+    Object[] values = new Object[types.length];
+    ParseResult result = new ParseResult<>();
+
+    for (int index = 0; index < types.length; index++) {
+      if (lastIsGreedy && index == types.length - 1) {
+        if (index < args.length)
+          values[index] = joinRemaining(args, index);
+        else if (index < requiredCount)
+          throw result.fail(index, EErrorType.MISSING_ARGUMENT).toCommandError();
+        break;
+      }
+
+      types[index].getParser().parse(command, args, index, result);
+
+      if (index < requiredCount)
+        values[index] = result.orElseThrow();
+      else
+        values[index] = result.orElse(null);
+    }
+
+    if (!lastIsGreedy && args.length > types.length)
+      throw result.fail(types.length, EErrorType.TOO_MANY_ARGUMENTS).toCommandError();
+
+    return new ParsedArguments(this, values);
+  }
+
+  /**
+   * Parses all tokens in a single pass, where a greedy argument consumes the rest of the line as typed
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public ParsedArguments parse(BukkitCommand command, CommandTokens tokens) {
+    Object[] values = new Object[types.length];
+    ParseResult result = new ParseResult<>();
+
+    for (int index = 0; index < types.length; index++) {
+      if (lastIsGreedy && index == types.length - 1) {
+        if (index < tokens.size())
+          values[index] = tokens.getRemaining(index).toString();
+        else if (index < requiredCount)
+          throw result.fail(index, EErrorType.MISSING_ARGUMENT).within(tokens).toCommandError();
+        break;
+      }
+
+      types[index].parse(command, tokens, index, result);
+
+      if (index < requiredCount)
+        values[index] = result.orElseThrow();
+      else
+        values[index] = result.orElse(null);
+    }
+
+    if (!lastIsGreedy && tokens.size() > types.length)
+      throw result.fail(types.length, EErrorType.TOO_MANY_ARGUMENTS).within(tokens).toCommandError();
+
+    return new ParsedArguments(this, values);
+  }
+
+  /**
+   * Completes the argument currently being typed, where arguments are determined by {@link CommandTokens},
+   * such that quoted arguments containing spaces count as one. Quoted arguments themselves are not completed,
+   * as clients only ever replace the text after the last space, which may lie within the quotes.
+   */
+  public List<String> complete(BukkitCommand command, String[] args) {
+    if (args.length == 0)
+      return Collections.emptyList();
+
+    CommandTokens tokens = CommandTokens.tokenize(args);
+    String[] tokenArgs = tokens.toStringArray();
+    int index = tokens.size() - 1;
+
+    if (tokens.endsWithinToken()) {
+      if (tokens.isQuoted(index))
+        return Collections.emptyList();
+    }
+
+    // Spaces after the last token start a new, empty one
+    else {
+      tokenArgs = Arrays.copyOf(tokenArgs, ++index + 1);
+      tokenArgs[index] = "";
+    }
+
+    int completedIndex = index;
+
+    if (index >= types.length) {
+      if (!lastIsGreedy)
+        return Collections.emptyList();
+
+      index = types.length - 1;
+    }
+
+    // Greedy arguments complete the token currently being typed
+    return types[index].getCompleter().complete(command, tokenArgs, completedIndex);
+  }
+
+  /**
+   * @return Usage of the arguments, like {@code <player> [amount] <reason...>}
+   */
+  public String getUsage() {
+    return usage;
+  }
+
+  public int indexOf(String name) {
+    for (int index = 0; index < names.length; index++) {
+      if (names[index].equals(name))
+        return index;
+    }
+
+    throw new IllegalArgumentException("Unknown argument name: " + name);
+  }
+
+  public int getArgumentCount() {
+    return types.length;
+  }
+
+  public String getName(int index) {
+    return names[index];
+  }
+
+  public ArgumentType<?> getType(int index) {
+    return types[index];
+  }
+
+  public boolean isOptional(int index) {
+    return index >= requiredCount;
+  }
+
+  public boolean isGreedy(int index) {
+    return lastIsGreedy && index == types.length - 1;
+  }
+
+  private String buildUsage() {
+    StringBuilder result = new StringBuilder();
+
+    for (int index = 0; index < names.length; index++) {
+      if (index != 0)
+        result.append(' ');
+
+      boolean optional = isOptional(index);
+
+      result
+        .append(optional ? '[' : '<')
+        .append(names[index])
+        .append(isGreedy(index) ? "..." : "")
+        .append(optional ? ']' : '>');
+    }
+
+    return result.toString();
+  }
+
+  private static String joinRemaining(String[] args, int fromIndex) {
+    StringBuilder result = new StringBuilder();
+
+    for (int index = fromIndex; index < args.length; index++) {
+      if (index != fromIndex)
+        result.append(' ');
+
+      result.append(args[index]);
+    }
+
+    return result.toString();
+  }
+}
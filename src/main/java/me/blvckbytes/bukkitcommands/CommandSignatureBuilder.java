@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CommandSignatureBuilder {
+
+  private final List<String> names;
+  private final List<ArgumentType<?>> types;
+  private int requiredCount;
+  private boolean hasOptional, hasGreedy;
+
+  public CommandSignatureBuilder() {
+    this.names = new ArrayList<>();
+    this.types = new ArrayList<>();
+  }
+
+  public CommandSignatureBuilder withPositional(String name, ArgumentType<?> type) {
+    if (hasOptional)
+      throw new IllegalStateException("Positional arguments cannot follow optional arguments");
+
+    add(name, type);
+    ++requiredCount;
+    return this;
+  }
+
+  public CommandSignatureBuilder withOptional(String name, ArgumentType<?> type) {
+    add(name, type);
+    hasOptional = true;
+    return this;
+  }
+
+  /**
+   * Adds a trailing argument which consumes all remaining arguments, joined by spaces
+   */
+  public CommandSignatureBuilder withGreedy(String name, boolean optional) {
+    if (!optional && hasOptional)
+      throw new IllegalStateException("Required arguments cannot follow optional arguments");
+
+    add(name, ArgumentType.STRING);
+    hasGreedy = true;
+
+    if (optional)
+      hasOptional = true;
+    else
+      ++requiredCount;
+
+    return this;
+  }
+
+  public CommandSignature build() {
+    return new CommandSignature(
+      names.toArray(new String[0]),
+      types.toArray(new ArgumentType<?>[0]),
+      requiredCount,
+      hasGreedy
+    );
+  }
+
+  private void add(String name, ArgumentType<?> type) {
+    if (hasGreedy)
+      throw new IllegalStateException("No arguments can follow a greedy argument");
+
+    if (names.contains(name))
+      throw new IllegalStateException("Duplicate argument name: " + name);
+
+    names.add(name);
+    types.add(type);
+  }
+}
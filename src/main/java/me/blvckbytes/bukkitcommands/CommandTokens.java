@@ -0,0 +1,276 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Tokens of a command line, which, unlike the space-split arguments handed out by the server, may be
+ * quoted by single or double quotes in order to contain spaces. A backslash escapes the character following
+ * it, both inside and outside of quotes. Quotes only open at the start of a token and an unterminated quote
+ * extends to the end of the line, as is the case while typing. Runs of spaces separate tokens.
+ *
+ * Tokens are exposed as views over a single buffer, such that they can be parsed without allocating
+ * substrings, while strings are only materialized on demand, as when rendering an error message.
+ */
+public class CommandTokens {
+
+  private static final int[] EMPTY_INT_ARRAY = new int[0];
+
+  private final char[] buffer;
+  private final int bufferLength;
+
+  // Raw extents of each token within the buffer, including quotes
+  private final int[] rawStarts;
+
+  private final CharSequence[] tokens;
+
+  // Whether the last token reaches the end of the line, as opposed to being followed by spaces
+  private final boolean endsWithinToken;
+
+  private @Nullable String[] strings;
+
+  private CommandTokens(char[] buffer, int bufferLength) {
+    this.buffer = buffer;
+    this.bufferLength = bufferLength;
+
+    int[] rawStarts = new int[8];
+    CharSequence[] tokens = new CharSequence[8];
+    int count = 0;
+
+    // Unescaped contents are appended behind the line, which is why buffers are allocated at twice its length
+    int unescapedEnd = bufferLength;
+    int position = 0;
+    int lastTokenEnd = -1;
+
+    while (true) {
+      while (position < bufferLength && buffer[position] == ' ')
+        ++position;
+
+      if (position == bufferLength)
+        break;
+
+      if (count == tokens.length) {
+        rawStarts = Arrays.copyOf(rawStarts, count * 2);
+        tokens = Arrays.copyOf(tokens, count * 2);
+      }
+
+      rawStarts[count] = position;
+
+      char quote = buffer[position];
+      boolean isQuoted = quote == '"' || quote == '\'';
+
+      if (isQuoted)
+        ++position;
+
+      int contentStart = position;
+      int escapeCount = 0;
+
+      while (position < bufferLength) {
+        char current = buffer[position];
+
+        if (current == '\\' && position + 1 < bufferLength) {
+          ++escapeCount;
+          position += 2;
+          continue;
+        }
+
+        if (isQuoted ? current == quote : current == ' ')
+          break;
+
+        ++position;
+      }
+
+      int contentEnd = position;
+
+      // Skip the closing quote, if any
+      if (isQuoted && position < bufferLength)
+        ++position;
+
+      lastTokenEnd = position;
+
+      if (escapeCount == 0)
+        tokens[count++] = new Slice(buffer, contentStart, contentEnd);
+      else {
+        int unescapedStart = unescapedEnd;
+
+        for (int index = contentStart; index < contentEnd; index++) {
+          char current = buffer[index];
+
+          if (current == '\\' && index + 1 < contentEnd)
+            current = buffer[++index];
+
+          buffer[unescapedEnd++] = current;
+        }
+
+        tokens[count++] = new Slice(buffer, unescapedStart, unescapedEnd);
+      }
+    }
+
+    this.rawStarts = count == 0 ? EMPTY_INT_ARRAY : Arrays.copyOf(rawStarts, count);
+    this.tokens = Arrays.copyOf(tokens, count);
+    this.endsWithinToken = lastTokenEnd == bufferLength;
+  }
+
+  /**
+   * Tokenizes the line the server split the given arguments from, which it did at every single space
+   */
+  public static CommandTokens tokenize(String[] args) {
+    int length = Math.max(0, args.length - 1);
+
+    for (String arg : args)
+      length += arg.length();
+
+    char[] buffer = new char[length * 2];
+    int position = 0;
+
+    for (int index = 0; index < args.length; index++) {
+      if (index != 0)
+        buffer[position++] = ' ';
+
+      String arg = args[index];
+      arg.getChars(0, arg.length(), buffer, position);
+      position += arg.length();
+    }
+
+    return new CommandTokens(buffer, length);
+  }
+
+  public static CommandTokens tokenize(CharSequence line) {
+    int length = line.length();
+    char[] buffer = new char[length * 2];
+
+    for (int index = 0; index < length; index++)
+      buffer[index] = line.charAt(index);
+
+    return new CommandTokens(buffer, length);
+  }
+
+  public int size() {
+    return tokens.length;
+  }
+
+  /**
+   * @return View of the token at the given index, without quotes and with escapes resolved
+   */
+  public CharSequence get(int index) {
+    return tokens[index];
+  }
+
+  /**
+   * @return Whether the token at the given index has been opened by a quote, whether it's been closed or not
+   */
+  public boolean isQuoted(int index) {
+    char first = buffer[rawStarts[index]];
+    return first == '"' || first == '\'';
+  }
+
+  /**
+   * @return Whether the line ends within its last token, which is thereby still being typed, rather than
+   *         with spaces after it, as is also the case for spaces within an unterminated quote
+   */
+  public boolean endsWithinToken() {
+    return endsWithinToken;
+  }
+
+  /**
+   * @return The token at the given index as a string, which is only created once per token
+   */
+  public String getString(int index) {
+    return toStringArray()[index];
+  }
+
+  /**
+   * @return View of the line from the start of the token at the given index up until its end, as typed,
+   *         which is what greedy arguments consume
+   */
+  public CharSequence getRemaining(int index) {
+    int end = bufferLength;
+
+    // Trailing spaces are not part of the text
+    while (end > rawStarts[index] && buffer[end - 1] == ' ')
+      --end;
+
+    return new Slice(buffer, rawStarts[index], end);
+  }
+
+  /**
+   * @return All tokens as strings, which is also what errors are reported against; not to be modified
+   */
+  public String[] toStringArray() {
+    String[] result = this.strings;
+
+    if (result == null) {
+      result = new String[tokens.length];
+
+      for (int index = 0; index < tokens.length; index++)
+        result[index] = tokens[index].toString();
+
+      this.strings = result;
+    }
+
+    return result;
+  }
+
+  private static class Slice implements CharSequence {
+
+    private final char[] buffer;
+    private final int start, end;
+
+    private Slice(char[] buffer, int start, int end) {
+      this.buffer = buffer;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= end - start)
+        throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + (end - start));
+
+      return buffer[start + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      if (start < 0 || end > this.end - this.start || start > end)
+        throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of bounds for length " + (this.end - this.start));
+
+      return new Slice(buffer, this.start + start, this.start + end);
+    }
+
+    @Override
+    public String toString() {
+      return new String(buffer, start, end - start);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces requests to resend the command tree to clients, as each {@link Player#updateCommands()}
+ * sends the whole tree. All requests made until the deferred flush runs on the server thread result
+ * in at most one update per player, no matter how many commands changed in the meantime.
+ */
+public class CommandTreeSynchronizer {
+
+  private final Executor mainThreadExecutor;
+  private final Set<UUID> pendingPlayers;
+  private final AtomicBoolean allPlayersPending;
+  private final AtomicBoolean flushScheduled;
+
+  /**
+   * @param mainThreadExecutor Executor which defers tasks to a later point on the server thread
+   */
+  public CommandTreeSynchronizer(Executor mainThreadExecutor) {
+    this.mainThreadExecutor = mainThreadExecutor;
+    this.pendingPlayers = ConcurrentHashMap.newKeySet();
+    this.allPlayersPending = new AtomicBoolean();
+    this.flushScheduled = new AtomicBoolean();
+  }
+
+  public CommandTreeSynchronizer(Plugin plugin) {
+    this(CommandExecutors.mainThreadExecutor(plugin));
+  }
+
+  public void requestResync(Player player) {
+    pendingPlayers.add(player.getUniqueId());
+    scheduleFlush();
+  }
+
+  public void requestResyncAll() {
+    allPlayersPending.set(true);
+    scheduleFlush();
+  }
+
+  private void scheduleFlush() {
+    if (flushScheduled.compareAndSet(false, true))
+      mainThreadExecutor.execute(this::flush);
+  }
+
+  private void flush() {
+    // Requests made while flushing are to be picked up by another flush
+    flushScheduled.set(false);
+
+    if (allPlayersPending.getAndSet(false)) {
+      pendingPlayers.clear();
+
+      for (Player player : Bukkit.getOnlinePlayers())
+        player.updateCommands();
+
+      return;
+    }
+
+    for (Iterator<UUID> iterator = pendingPlayers.iterator(); iterator.hasNext();) {
+      UUID playerId = iterator.next();
+      iterator.remove();
+
+      Player player = Bukkit.getPlayer(playerId);
+
+      if (player != null)
+        player.updateCommands();
+    }
+  }
+}
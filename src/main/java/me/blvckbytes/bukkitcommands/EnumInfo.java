@@ -24,6 +24,8 @@
 
 package me.blvckbytes.bukkitcommands;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.util.*;
 
 public class EnumInfo implements IEnumInfo {
@@ -31,6 +33,11 @@ public class EnumInfo implements IEnumInfo {
   private final Class<? extends Enum<?>> enumClass;
   private final List<String> enumConstantNames;
   private final List<Enum<?>> enumConstants;
+  private final PrefixIndex<Enum<?>> prefixIndex;
+  private final PerfectHashIndex<Enum<?>> constantIndex;
+
+  // Only built once suggestions are requested, as most enums are never mistyped
+  private volatile BkTree suggestionTree;
 
   public final Map<String, Enum<?>> enumConstantByLowerCaseName;
 
@@ -40,15 +47,19 @@ public class EnumInfo implements IEnumInfo {
 
     List<String> names = new ArrayList<>();
     Map<String, Enum<?>> table = new HashMap<>();
+    Map<String, Enum<?>> constantByName = new LinkedHashMap<>();
 
     for (Enum<?> constant : this.enumConstants) {
       String name = constant.name();
       names.add(name);
-      table.put(name.toLowerCase(), constant);
+      table.put(name.toLowerCase(Locale.ROOT), constant);
+      constantByName.put(name, constant);
     }
 
     this.enumConstantNames = Collections.unmodifiableList(names);
     this.enumConstantByLowerCaseName = Collections.unmodifiableMap(table);
+    this.prefixIndex = PrefixIndex.of(constantByName);
+    this.constantIndex = PerfectHashIndex.of(constantByName);
   }
 
   @Override
@@ -65,4 +76,29 @@ public class EnumInfo implements IEnumInfo {
   public List<String> getEnumConstantNames() {
     return enumConstantNames;
   }
+
+  @Override
+  public @Nullable Enum<?> getEnumConstant(CharSequence name) {
+    return constantIndex.get(name);
+  }
+
+  @Override
+  public List<String> getEnumConstantNamesStartingWith(String prefix, int limit) {
+    return prefixIndex.getNamesStartingWith(prefix, limit);
+  }
+
+  @Override
+  public List<Enum<?>> getEnumConstantsStartingWith(String prefix, int limit) {
+    return prefixIndex.getValuesStartingWith(prefix, limit);
+  }
+
+  @Override
+  public List<String> suggest(String input, int limit) {
+    BkTree tree = this.suggestionTree;
+
+    if (tree == null)
+      this.suggestionTree = tree = new BkTree(enumConstantNames);
+
+    return tree.suggest(input, limit);
+  }
 }
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe cache of {@link EnumInfo} per enum class, which doesn't lock on lookups of cached
+ * entries. It's held statically by this library, which is shaded into its plugin, so it's
+ * collected along with the plugin's class loader, as are the enum classes it references.
+ */
+public final class EnumInfoCache {
+
+  private static final Map<Class<?>, EnumInfo> cache = new ConcurrentHashMap<>();
+
+  private EnumInfoCache() {}
+
+  public static EnumInfo get(Class<? extends Enum<?>> enumClass) {
+    EnumInfo result = cache.get(enumClass);
+
+    // Only looked up before computing, as computeIfAbsent locks even if the entry is present
+    if (result == null)
+      result = cache.computeIfAbsent(enumClass, EnumInfoCache::createInfo);
+
+    return result;
+  }
+
+  /**
+   * Indexes the provided enum classes ahead of time, which is meant to be called at
+   * command registration, such that no player input has to pay for the initial indexing
+   */
+  @SafeVarargs
+  public static void warmUp(Class<? extends Enum<?>>... enumClasses) {
+    for (Class<? extends Enum<?>> enumClass : enumClasses)
+      get(enumClass);
+  }
+
+  public static void warmUp(Collection<Class<? extends Enum<?>>> enumClasses) {
+    for (Class<? extends Enum<?>> enumClass : enumClasses)
+      get(enumClass);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static EnumInfo createInfo(Class<?> type) {
+    if (!type.isEnum())
+      throw new IllegalArgumentException("Not an enum class: " + type.getName());
+
+    return new EnumInfo((Class<? extends Enum<?>>) type);
+  }
+}
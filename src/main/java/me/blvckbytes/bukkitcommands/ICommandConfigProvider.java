@@ -26,6 +26,7 @@ package me.blvckbytes.bukkitcommands;
 
 import me.blvckbytes.bukkitcommands.error.IErrorHandlerConfigProvider;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -39,4 +40,18 @@ public interface ICommandConfigProvider extends IErrorHandlerConfigProvider {
 
   @NotNull String getUsage();
 
+  /**
+   * @return Limit of invocations per sender, or null if not limited, which is the default
+   */
+  default @Nullable RateLimit getInvocationRateLimit() {
+    return null;
+  }
+
+  /**
+   * @return Limit of completions per sender, or null if not limited, which is the default
+   */
+  default @Nullable RateLimit getCompletionRateLimit() {
+    return null;
+  }
+
 }
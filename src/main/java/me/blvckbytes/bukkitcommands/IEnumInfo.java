@@ -24,9 +24,11 @@
 
 package me.blvckbytes.bukkitcommands;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.util.List;
 
-public interface IEnumInfo {
+public interface IEnumInfo extends ISuggestionSource {
 
   Class<? extends Enum<?>> getEnumClass();
 
@@ -34,4 +36,44 @@ public interface IEnumInfo {
 
   List<String> getEnumConstantNames();
 
+  /**
+   * Case-insensitively looks up a constant by its name, without allocating; this
+   * default scans all constants, while implementations may index them instead
+   */
+  default @Nullable Enum<?> getEnumConstant(CharSequence name) {
+    for (Enum<?> constant : getEnumConstants()) {
+      String constantName = constant.name();
+
+      if (constantName.length() != name.length())
+        continue;
+
+      int index = 0;
+
+      while (index < constantName.length() && Character.toUpperCase(constantName.charAt(index)) == Character.toUpperCase(name.charAt(index)))
+        ++index;
+
+      if (index == constantName.length())
+        return constant;
+    }
+
+    return null;
+  }
+
+  /**
+   * Case-insensitively looks up all constant names starting with the provided
+   * prefix, sorted alphabetically and capped at the provided limit
+   */
+  List<String> getEnumConstantNamesStartingWith(String prefix, int limit);
+
+  List<Enum<?>> getEnumConstantsStartingWith(String prefix, int limit);
+
+  /**
+   * Indexes the constant names on every call, which implementations suggesting
+   * repeatedly are expected to avoid by keeping the index around
+   */
+  @Override
+  default List<String> suggest(String input, int limit) {
+    return new BkTree(getEnumConstantNames()).suggest(input, limit);
+  }
+
 }
@@ -0,0 +1,285 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+/**
+ * Single-pass parser for decimal numbers which neither boxes, throws nor creates
+ * intermediate strings on the common path. The accepted grammar is an optional sign,
+ * followed by ASCII digits, which - for floating point numbers - may contain a single
+ * decimal point and be followed by an exponent (e/E, optional sign, digits).
+ */
+public final class NumberParser {
+
+  // 2^53, the largest integer for which all smaller integers are exactly representable as a double
+  private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+  private static final long MAX_EXACT_FLOAT_MANTISSA = 1L << 24;
+
+  // Powers of ten which are exactly representable as a double (float, respectively)
+  private static final double[] DOUBLE_POWERS_OF_TEN;
+  private static final float[] FLOAT_POWERS_OF_TEN;
+
+  private static final int MAX_MANTISSA_DIGITS = 18;
+  private static final int MAX_EXPONENT_MAGNITUDE = 100_000;
+
+  static {
+    DOUBLE_POWERS_OF_TEN = new double[23];
+    FLOAT_POWERS_OF_TEN = new float[11];
+
+    double power = 1;
+    for (int i = 0; i < DOUBLE_POWERS_OF_TEN.length; i++) {
+      DOUBLE_POWERS_OF_TEN[i] = power;
+
+      if (i < FLOAT_POWERS_OF_TEN.length)
+        FLOAT_POWERS_OF_TEN[i] = (float) power;
+
+      power *= 10;
+    }
+  }
+
+  private NumberParser() {}
+
+  /**
+   * Parses a whole number within the inclusive range of minValue to maxValue and stores
+   * it within the long slot of the output on success, leaving the output untouched otherwise
+   * @return True if the input was valid and within range, false otherwise
+   */
+  public static boolean parseLong(CharSequence input, long minValue, long maxValue, ParseResult<?> output) {
+    int length = input.length();
+
+    if (length == 0)
+      return false;
+
+    int index = 0;
+    boolean negative = false;
+    char first = input.charAt(0);
+
+    if (first == '-' || first == '+') {
+      negative = first == '-';
+
+      if (++index == length)
+        return false;
+    }
+
+    // Accumulate negatively, as the negative range is larger by one than the positive range
+    long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    long multiplicationLimit = limit / 10;
+    long result = 0;
+
+    for (; index < length; index++) {
+      int digit = input.charAt(index) - '0';
+
+      if (digit < 0 || digit > 9)
+        return false;
+
+      if (result < multiplicationLimit)
+        return false;
+
+      result *= 10;
+
+      if (result < limit + digit)
+        return false;
+
+      result -= digit;
+    }
+
+    if (!negative)
+      result = -result;
+
+    if (result < minValue || result > maxValue)
+      return false;
+
+    output.succeedLong(result);
+    return true;
+  }
+
+  public static boolean parseInt(CharSequence input, ParseResult<?> output) {
+    return parseLong(input, Integer.MIN_VALUE, Integer.MAX_VALUE, output);
+  }
+
+  /**
+   * Parses a finite double and stores it within the double slot of the output on
+   * success, leaving the output untouched otherwise
+   * @return True if the input was valid and finite, false otherwise
+   */
+  public static boolean parseDouble(CharSequence input, ParseResult<?> output) {
+    return parseFloatingPoint(input, false, output);
+  }
+
+  /**
+   * Parses a finite float and stores it within the double slot of the output on
+   * success, leaving the output untouched otherwise
+   * @return True if the input was valid and finite, false otherwise
+   */
+  public static boolean parseFloat(CharSequence input, ParseResult<?> output) {
+    return parseFloatingPoint(input, true, output);
+  }
+
+  private static boolean parseFloatingPoint(CharSequence input, boolean isFloat, ParseResult<?> output) {
+    int length = input.length();
+
+    if (length == 0)
+      return false;
+
+    int index = 0;
+    boolean negative = false;
+    char first = input.charAt(0);
+
+    if (first == '-' || first == '+') {
+      negative = first == '-';
+      ++index;
+    }
+
+    long mantissa = 0;
+    int mantissaDigits = 0;
+    int decimalExponent = 0;
+    int digitCount = 0;
+    boolean truncated = false;
+    boolean seenDecimalPoint = false;
+
+    for (; index < length; index++) {
+      char c = input.charAt(index);
+
+      if (c == '.') {
+        if (seenDecimalPoint)
+          return false;
+
+        seenDecimalPoint = true;
+        continue;
+      }
+
+      int digit = c - '0';
+
+      if (digit < 0 || digit > 9)
+        break;
+
+      ++digitCount;
+
+      // Leading zeros do not contribute to the significant digits
+      if (mantissa == 0 && digit == 0) {
+        if (seenDecimalPoint)
+          --decimalExponent;
+        continue;
+      }
+
+      if (mantissaDigits < MAX_MANTISSA_DIGITS) {
+        mantissa = mantissa * 10 + digit;
+        ++mantissaDigits;
+
+        if (seenDecimalPoint)
+          --decimalExponent;
+
+        continue;
+      }
+
+      // Further digits do not fit into the mantissa, but still scale integer parts
+      if (digit != 0)
+        truncated = true;
+
+      if (!seenDecimalPoint)
+        ++decimalExponent;
+    }
+
+    if (digitCount == 0)
+      return false;
+
+    if (index < length) {
+      char c = input.charAt(index);
+
+      if (c != 'e' && c != 'E')
+        return false;
+
+      if (++index == length)
+        return false;
+
+      boolean negativeExponent = false;
+      c = input.charAt(index);
+
+      if (c == '-' || c == '+') {
+        negativeExponent = c == '-';
+
+        if (++index == length)
+          return false;
+      }
+
+      int exponent = 0;
+
+      for (; index < length; index++) {
+        int digit = input.charAt(index) - '0';
+
+        if (digit < 0 || digit > 9)
+          return false;
+
+        // Clamp, as exponents of this magnitude will over- or underflow either way
+        if (exponent < MAX_EXPONENT_MAGNITUDE)
+          exponent = exponent * 10 + digit;
+      }
+
+      decimalExponent += negativeExponent ? -exponent : exponent;
+    }
+
+    double value;
+
+    if (mantissa == 0)
+      value = 0;
+
+    else if (!truncated && isFloat && mantissa <= MAX_EXACT_FLOAT_MANTISSA && Math.abs(decimalExponent) < FLOAT_POWERS_OF_TEN.length) {
+      // Both operands are exact, so a single float operation yields the correctly rounded result
+      float floatValue = (float) mantissa;
+
+      if (decimalExponent >= 0)
+        floatValue *= FLOAT_POWERS_OF_TEN[decimalExponent];
+      else
+        floatValue /= FLOAT_POWERS_OF_TEN[-decimalExponent];
+
+      value = floatValue;
+    }
+
+    else if (!truncated && !isFloat && mantissa <= MAX_EXACT_DOUBLE_MANTISSA && Math.abs(decimalExponent) < DOUBLE_POWERS_OF_TEN.length) {
+      // Both operands are exact, so a single double operation yields the correctly rounded result
+      value = mantissa;
+
+      if (decimalExponent >= 0)
+        value *= DOUBLE_POWERS_OF_TEN[decimalExponent];
+      else
+        value /= DOUBLE_POWERS_OF_TEN[-decimalExponent];
+    }
+
+    // Rare inputs which cannot be rounded correctly by the fast path; the syntax has already been
+    // validated, so the platform parser is only relied upon for the conversion and cannot throw
+    else {
+      String inputString = input.toString();
+      value = isFloat ? Float.parseFloat(inputString) : Double.parseDouble(inputString);
+
+      if (Double.isInfinite(value) || Double.isNaN(value))
+        return false;
+
+      output.succeedDouble(value);
+      return true;
+    }
+
+    output.succeedDouble(negative ? -value : value);
+    return true;
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Resolves offline players by name without blocking the main thread, by looking up unique ids
+ * through a {@link IProfileSource} on a separate executor. Results are kept in a bounded LRU cache,
+ * known names for a while, as they may be taken over by other accounts, and unknown names for a shorter
+ * time, as they may join at any moment. All futures complete on the main thread.
+ */
+public class OfflinePlayerResolver {
+
+  private static final int DEFAULT_CAPACITY = 1024;
+  private static final long DEFAULT_POSITIVE_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+  private static final long DEFAULT_NEGATIVE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  private final IProfileSource profileSource;
+  private final Executor lookupExecutor;
+  private final Executor mainThreadExecutor;
+  private final long positiveTtlMillis;
+  private final long negativeTtlMillis;
+
+  private final Map<String, CacheEntry> cache;
+  private final Map<String, CompletableFuture<UUID>> pendingLookups;
+
+  public OfflinePlayerResolver(
+    IProfileSource profileSource,
+    Executor lookupExecutor,
+    Executor mainThreadExecutor,
+    int capacity,
+    long positiveTtlMillis,
+    long negativeTtlMillis
+  ) {
+    this.profileSource = profileSource;
+    this.lookupExecutor = lookupExecutor;
+    this.mainThreadExecutor = mainThreadExecutor;
+    this.positiveTtlMillis = positiveTtlMillis;
+    this.negativeTtlMillis = negativeTtlMillis;
+    this.pendingLookups = new ConcurrentHashMap<>();
+
+    this.cache = new LinkedHashMap<String, CacheEntry>(16, .75F, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  public OfflinePlayerResolver(Plugin plugin) {
+    this(
+      // The server keeps its user cache within the world container, which is not necessarily the working directory
+      new UserCacheProfileSource(new File(Bukkit.getWorldContainer(), "usercache.json")),
+      task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task),
+      task -> Bukkit.getScheduler().runTask(plugin, task),
+      DEFAULT_CAPACITY,
+      DEFAULT_POSITIVE_TTL_MILLIS,
+      DEFAULT_NEGATIVE_TTL_MILLIS
+    );
+  }
+
+  public Executor getMainThreadExecutor() {
+    return mainThreadExecutor;
+  }
+
+  /**
+   * Resolves an offline player by name, completing on the main thread
+   * @return Future of the player, which yields null if the name is unknown
+   */
+  public CompletableFuture<OfflinePlayer> resolve(String name) {
+    String foldedName = PrefixIndex.fold(name);
+    CacheEntry entry;
+
+    synchronized (cache) {
+      entry = cache.get(foldedName);
+
+      if (entry != null && entry.isExpired())
+        entry = null;
+    }
+
+    if (entry != null) {
+      if (Bukkit.isPrimaryThread())
+        return CompletableFuture.completedFuture(entry.getOfflinePlayer());
+
+      return CompletableFuture.supplyAsync(entry::getOfflinePlayer, mainThreadExecutor);
+    }
+
+    // Concurrent requests for the same name share a single lookup
+    CompletableFuture<UUID> lookup = pendingLookups.get(foldedName);
+
+    if (lookup == null) {
+      CompletableFuture<UUID> newLookup = new CompletableFuture<>();
+      lookup = pendingLookups.putIfAbsent(foldedName, newLookup);
+
+      if (lookup == null) {
+        lookup = newLookup;
+
+        try {
+          lookupExecutor.execute(() -> {
+            try {
+              newLookup.complete(profileSource.lookupUniqueId(name));
+            } catch (Throwable e) {
+              newLookup.completeExceptionally(e);
+            } finally {
+              pendingLookups.remove(foldedName, newLookup);
+            }
+          });
+        }
+
+        // The executor may be shut down or saturated, in which case no other caller may join this lookup
+        catch (Throwable e) {
+          pendingLookups.remove(foldedName, newLookup);
+          newLookup.completeExceptionally(e);
+        }
+      }
+    }
+
+    // Handle (instead of apply), as that also routes exceptional completions through the executor
+    return lookup.handleAsync((uniqueId, error) -> {
+      if (error != null)
+        throw toCompletionException(error);
+
+      long ttlMillis = uniqueId == null ? negativeTtlMillis : positiveTtlMillis;
+      CacheEntry result = new CacheEntry(uniqueId, System.currentTimeMillis() + ttlMillis);
+
+      synchronized (cache) {
+        cache.put(foldedName, result);
+      }
+
+      return result.getOfflinePlayer();
+    }, mainThreadExecutor);
+  }
+
+  /**
+   * Resolves an offline player by name just like {@link #resolve(String)}, but falls back to
+   * {@link Bukkit#getOfflinePlayer(String)} for names unknown to the profile source, which is
+   * called on the lookup executor, as it may involve a blocking web request
+   * @return Future of the player, which never yields null
+   */
+  public CompletableFuture<OfflinePlayer> resolveOrCreate(String name) {
+    return resolve(name).thenCompose(offlinePlayer -> {
+      if (offlinePlayer != null)
+        return CompletableFuture.completedFuture(offlinePlayer);
+
+      // Throws synchronously if the executor rejects, which fails the composed future
+      return CompletableFuture
+        .supplyAsync(() -> Bukkit.getOfflinePlayer(name), lookupExecutor)
+        .handleAsync((createdPlayer, error) -> {
+          if (error != null)
+            throw toCompletionException(error);
+
+          return createdPlayer;
+        }, mainThreadExecutor);
+    });
+  }
+
+  public void invalidate(String name) {
+    synchronized (cache) {
+      cache.remove(PrefixIndex.fold(name));
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (cache) {
+      cache.clear();
+    }
+  }
+
+  private static CompletionException toCompletionException(Throwable error) {
+    return error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+  }
+
+  private static class CacheEntry {
+
+    private final @Nullable UUID uniqueId;
+    private final long expiresAt;
+    private @Nullable OfflinePlayer offlinePlayer;
+
+    private CacheEntry(@Nullable UUID uniqueId, long expiresAt) {
+      this.uniqueId = uniqueId;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired() {
+      return System.currentTimeMillis() > expiresAt;
+    }
+
+    // Only called on the main thread, so the instance can be created lazily and then reused
+    private @Nullable OfflinePlayer getOfflinePlayer() {
+      if (uniqueId == null)
+        return null;
+
+      if (offlinePlayer == null)
+        offlinePlayer = Bukkit.getOfflinePlayer(uniqueId);
+
+      return offlinePlayer;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Case-insensitive name and prefix index of all online players, which is kept up to date
+ * by join and quit events. Each change publishes a new immutable snapshot, so readers on
+ * asynchronous threads never observe partial updates and never have to lock.
+ */
+public class OnlinePlayerIndex implements Listener {
+
+  private volatile PrefixIndex<Player> snapshot;
+  private volatile BkTree suggestionTree;
+
+  public OnlinePlayerIndex(Plugin plugin) {
+    this.snapshot = PrefixIndex.empty();
+
+    for (Player player : Bukkit.getOnlinePlayers())
+      this.snapshot = this.snapshot.with(player.getName(), player);
+
+    this.suggestionTree = new BkTree(snapshot.getNames());
+
+    Bukkit.getPluginManager().registerEvents(this, plugin);
+  }
+
+  public PrefixIndex<Player> getSnapshot() {
+    return snapshot;
+  }
+
+  public @Nullable Player getPlayer(String name) {
+    return snapshot.get(name);
+  }
+
+  public List<String> getNamesStartingWith(String prefix, int limit) {
+    return snapshot.getNamesStartingWith(prefix, limit);
+  }
+
+  /**
+   * @return Suggestions of online player names, which are kept up to date along with the snapshot
+   */
+  public BkTree getSuggestionTree() {
+    return suggestionTree;
+  }
+
+  // Index as early as possible, such that other join handlers can already look the player up
+  @EventHandler(priority = EventPriority.LOWEST)
+  public void onJoin(PlayerJoinEvent event) {
+    Player player = event.getPlayer();
+    snapshot = snapshot.with(player.getName(), player);
+    suggestionTree = suggestionTree.with(player.getName());
+  }
+
+  // Remove as late as possible, such that other quit handlers can still look the player up
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onQuit(PlayerQuitEvent event) {
+    String name = event.getPlayer().getName();
+    snapshot = snapshot.without(name);
+    suggestionTree = suggestionTree.without(name);
+  }
+}
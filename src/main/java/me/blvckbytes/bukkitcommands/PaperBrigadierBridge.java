@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+/**
+ * Replaces the opaque Brigadier nodes which Paper generates for Bukkit commands by typed trees built by
+ * {@link BrigadierTreeExporter}, through hooking Paper's CommandRegisteredEvent, which is resolved reflectively,
+ * as this library compiles against Spigot. On servers without that event, {@link #install(Plugin)} yields null
+ * and clients keep asking the server for every completion.
+ */
+public class PaperBrigadierBridge implements Listener {
+
+  private static final String EVENT_CLASS_NAME = "com.destroystokyo.paper.event.brigadier.CommandRegisteredEvent";
+  private static final String SOURCE_CLASS_NAME = "com.destroystokyo.paper.brigadier.BukkitBrigadierCommandSource";
+
+  private final Plugin plugin;
+  private final MethodHandle getCommand, getCommandLabel, getBrigadierCommand, getLiteral, setLiteral, getBukkitSender;
+
+  private PaperBrigadierBridge(Plugin plugin, Class<?> eventClass, Class<?> sourceClass) throws ReflectiveOperationException {
+    this.plugin = plugin;
+
+    MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+    this.getCommand = lookup.unreflect(eventClass.getMethod("getCommand"));
+    this.getCommandLabel = lookup.unreflect(eventClass.getMethod("getCommandLabel"));
+    this.getBrigadierCommand = lookup.unreflect(eventClass.getMethod("getBrigadierCommand"));
+    this.getLiteral = lookup.unreflect(eventClass.getMethod("getLiteral"));
+    this.setLiteral = lookup.unreflect(eventClass.getMethod("setLiteral", LiteralCommandNode.class));
+    this.getBukkitSender = lookup.unreflect(sourceClass.getMethod("getBukkitSender"));
+  }
+
+  /**
+   * Installs the bridge if the server supports it, which then describes all {@link BukkitCommand}s
+   * with a signature or with subcommands to clients
+   * @return The bridge or null if not supported
+   */
+  @SuppressWarnings("unchecked")
+  public static @Nullable PaperBrigadierBridge install(Plugin plugin) {
+    Class<? extends Event> eventClass;
+    Class<?> sourceClass;
+
+    try {
+      eventClass = (Class<? extends Event>) Class.forName(EVENT_CLASS_NAME);
+      sourceClass = Class.forName(SOURCE_CLASS_NAME);
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+
+    PaperBrigadierBridge bridge;
+
+    try {
+      bridge = new PaperBrigadierBridge(plugin, eventClass, sourceClass);
+    } catch (ReflectiveOperationException e) {
+      plugin.getLogger().log(Level.WARNING, "Could not hook into command registration", e);
+      return null;
+    }
+
+    Bukkit.getPluginManager().registerEvent(
+      eventClass, bridge, EventPriority.NORMAL,
+      (listener, event) -> {
+        if (eventClass.isInstance(event))
+          bridge.onCommandRegistered(event);
+      },
+      plugin, true
+    );
+
+    return bridge;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void onCommandRegistered(Event event) {
+    try {
+      Object command = getCommand.invoke(event);
+
+      if (!(command instanceof BukkitCommand))
+        return;
+
+      Object brigadierCommand = getBrigadierCommand.invoke(event);
+      LiteralCommandNode<Object> defaultLiteral = (LiteralCommandNode<Object>) getLiteral.invoke(event);
+
+      Function<Object, CommandSender> senderResolver = source -> {
+        try {
+          return (CommandSender) getBukkitSender.invoke(source);
+        } catch (Throwable e) {
+          throw new IllegalStateException("Could not resolve the sender of a command source", e);
+        }
+      };
+
+      // Paper's command both dispatches to the Bukkit command and asks it for suggestions
+      LiteralCommandNode<Object> literal = BrigadierTreeExporter.buildLiteral(
+        (BukkitCommand) command,
+        (String) getCommandLabel.invoke(event),
+        (Command<Object>) brigadierCommand,
+        (SuggestionProvider<Object>) brigadierCommand,
+        (Predicate<Object>) defaultLiteral.getRequirement(),
+        senderResolver
+      );
+
+      if (literal != null)
+        setLiteral.invoke(event, literal);
+    } catch (Throwable e) {
+      plugin.getLogger().log(Level.SEVERE, "An error occurred while exporting a command tree", e);
+    }
+  }
+}
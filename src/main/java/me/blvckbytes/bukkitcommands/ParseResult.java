@@ -0,0 +1,208 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import me.blvckbytes.bukkitcommands.error.CommandError;
+import me.blvckbytes.bukkitcommands.error.EErrorType;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Mutable outcome of a non-throwing parameter parse, which either holds a value or
+ * the type of error as well as the index of the argument which caused it. Instances
+ * may be reused across calls in order to avoid allocations on hot paths.
+ */
+public class ParseResult<T> {
+
+  private @Nullable T value;
+  private @Nullable EErrorType errorType;
+  private @Nullable Object parameter;
+  private int argumentIndex;
+
+  // Tokens the argument index of a failure refers to, if not the raw arguments
+  private @Nullable CommandTokens tokens;
+
+  // Primitive slots, allowing numeric results to be passed on without boxing
+  private long longValue;
+  private double doubleValue;
+
+  public ParseResult<T> succeed(@Nullable T value) {
+    this.value = value;
+    this.errorType = null;
+    this.parameter = null;
+    this.argumentIndex = -1;
+    this.tokens = null;
+    return this;
+  }
+
+  public ParseResult<T> succeedLong(long value) {
+    succeed(null);
+    this.longValue = value;
+    return this;
+  }
+
+  public ParseResult<T> succeedDouble(double value) {
+    succeed(null);
+    this.doubleValue = value;
+    return this;
+  }
+
+  public ParseResult<T> fail(int argumentIndex, EErrorType errorType) {
+    return fail(argumentIndex, errorType, null);
+  }
+
+  public ParseResult<T> fail(int argumentIndex, EErrorType errorType, @Nullable Object parameter) {
+    this.value = null;
+    this.errorType = errorType;
+    this.parameter = parameter;
+    this.argumentIndex = argumentIndex;
+    this.tokens = null;
+    return this;
+  }
+
+  /**
+   * Marks a failure as referring to the given tokens, such that its error is reported against them
+   */
+  public ParseResult<T> within(CommandTokens tokens) {
+    if (errorType != null)
+      this.tokens = tokens;
+
+    return this;
+  }
+
+  public boolean isSuccess() {
+    return errorType == null;
+  }
+
+  public boolean isMissing() {
+    return errorType == EErrorType.MISSING_ARGUMENT;
+  }
+
+  public @Nullable T getValue() {
+    if (errorType != null)
+      throw new IllegalStateException("Cannot access the value of a failed result");
+
+    return value;
+  }
+
+  public long getLongValue() {
+    if (errorType != null)
+      throw new IllegalStateException("Cannot access the value of a failed result");
+
+    return longValue;
+  }
+
+  public int getIntValue() {
+    return (int) getLongValue();
+  }
+
+  public double getDoubleValue() {
+    if (errorType != null)
+      throw new IllegalStateException("Cannot access the value of a failed result");
+
+    return doubleValue;
+  }
+
+  public float getFloatValue() {
+    return (float) getDoubleValue();
+  }
+
+  public @Nullable EErrorType getErrorType() {
+    return errorType;
+  }
+
+  public int getArgumentIndex() {
+    return argumentIndex;
+  }
+
+  public @Nullable Object getParameter() {
+    return parameter;
+  }
+
+  /**
+   * Yields the value on success or the fallback if the argument was missing,
+   * while all other errors are thrown as a {@link CommandError}
+   */
+  public @Nullable T orElse(@Nullable T fallback) {
+    if (errorType == null)
+      return value;
+
+    if (errorType == EErrorType.MISSING_ARGUMENT)
+      return fallback;
+
+    throw toCommandError();
+  }
+
+  public int orElseInt(int fallback) {
+    return isMissing() ? fallback : orElseThrowInt();
+  }
+
+  public long orElseLong(long fallback) {
+    return isMissing() ? fallback : orElseThrowLong();
+  }
+
+  public double orElseDouble(double fallback) {
+    return isMissing() ? fallback : orElseThrowDouble();
+  }
+
+  public float orElseFloat(float fallback) {
+    return isMissing() ? fallback : orElseThrowFloat();
+  }
+
+  public int orElseThrowInt() {
+    return (int) orElseThrowLong();
+  }
+
+  public long orElseThrowLong() {
+    if (errorType == null)
+      return longValue;
+
+    throw toCommandError();
+  }
+
+  public double orElseThrowDouble() {
+    if (errorType == null)
+      return doubleValue;
+
+    throw toCommandError();
+  }
+
+  public float orElseThrowFloat() {
+    return (float) orElseThrowDouble();
+  }
+
+  public @Nullable T orElseThrow() {
+    if (errorType == null)
+      return value;
+
+    throw toCommandError();
+  }
+
+  public CommandError toCommandError() {
+    if (errorType == null)
+      throw new IllegalStateException("Cannot create an error from a successful result");
+
+    return new CommandError(argumentIndex, errorType, parameter, true, tokens);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Typed values of all arguments of a {@link CommandSignature}, where absent optional arguments are null. Values
+ * are accessed by passing the {@link ArgumentType} the argument has been declared with, which determines the type
+ * of the value and is checked against the signature, such that mismatches fail fast instead of at a later cast.
+ */
+public class ParsedArguments {
+
+  private final CommandSignature signature;
+  private final Object[] values;
+
+  ParsedArguments(CommandSignature signature, Object[] values) {
+    this.signature = signature;
+    this.values = values;
+  }
+
+  public boolean isPresent(int index) {
+    return values[index] != null;
+  }
+
+  /**
+   * @throws IllegalArgumentException If the argument at the index has not been declared with the provided type
+   */
+  @SuppressWarnings("unchecked")
+  public <T> @Nullable T get(int index, ArgumentType<T> type) {
+    ArgumentType<?> declaredType = signature.getType(index);
+
+    // Types are compared by identity, as their value class is erased
+    if (declaredType != type)
+      throw new IllegalArgumentException("The argument " + signature.getName(index) + " is of type " + declaredType.getDisplayName() + ", not " + type.getDisplayName());
+
+    return (T) values[index];
+  }
+
+  public <T> @Nullable T get(String name, ArgumentType<T> type) {
+    return get(signature.indexOf(name), type);
+  }
+
+  public <T> T getOrElse(int index, ArgumentType<T> type, T fallback) {
+    T value = get(index, type);
+    return value == null ? fallback : value;
+  }
+
+  public <T> T getOrElse(String name, ArgumentType<T> type, T fallback) {
+    return getOrElse(signature.indexOf(name), type, fallback);
+  }
+
+  public int size() {
+    return values.length;
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Minimal perfect hash of names to values, built by hash and displace: names are first
+ * distributed over small buckets, each of which then searches for a displacement that maps
+ * all of its names onto free slots. Lookups hash the folded characters of the input in a
+ * single pass, probe exactly one slot and confirm it by a case-insensitive comparison, so
+ * they neither allocate nor depend on the default locale. Instances are immutable.
+ */
+public class PerfectHashIndex<V> {
+
+  private static final int AVERAGE_BUCKET_SIZE = 4;
+  private static final int MAX_DISPLACEMENT = 1 << 20;
+
+  private final String[] names;
+  private final Object[] values;
+  private final int[] displacements;
+
+  private PerfectHashIndex(String[] names, Object[] values, int[] displacements) {
+    this.names = names;
+    this.values = values;
+    this.displacements = displacements;
+  }
+
+  /**
+   * Builds the index, where names which only differ in case are kept at their first occurrence
+   */
+  public static <V> PerfectHashIndex<V> of(Map<String, V> entries) {
+    Map<String, String> nameByFoldedName = new LinkedHashMap<>();
+    Map<String, V> valueByName = new HashMap<>();
+
+    for (Map.Entry<String, V> entry : entries.entrySet()) {
+      if (nameByFoldedName.putIfAbsent(PrefixIndex.fold(entry.getKey()), entry.getKey()) == null)
+        valueByName.put(entry.getKey(), entry.getValue());
+    }
+
+    List<String> keys = new ArrayList<>(nameByFoldedName.values());
+    int size = keys.size();
+
+    if (size == 0)
+      return new PerfectHashIndex<>(new String[0], new Object[0], new int[0]);
+
+    int bucketCount = (size + AVERAGE_BUCKET_SIZE - 1) / AVERAGE_BUCKET_SIZE;
+    long[] baseHashes = new long[size];
+    List<List<Integer>> buckets = new ArrayList<>(bucketCount);
+
+    for (int i = 0; i < bucketCount; i++)
+      buckets.add(new ArrayList<>());
+
+    for (int i = 0; i < size; i++) {
+      baseHashes[i] = baseHash(keys.get(i));
+      buckets.get(bucketOf(baseHashes[i], bucketCount)).add(i);
+    }
+
+    // Large buckets are placed first, while there are still plenty of free slots
+    Integer[] bucketOrder = new Integer[bucketCount];
+
+    for (int i = 0; i < bucketCount; i++)
+      bucketOrder[i] = i;
+
+    Arrays.sort(bucketOrder, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+    String[] names = new String[size];
+    Object[] values = new Object[size];
+    int[] displacements = new int[bucketCount];
+    boolean[] occupied = new boolean[size];
+    int[] candidateSlots = new int[AVERAGE_BUCKET_SIZE * 8];
+
+    for (int bucketIndex : bucketOrder) {
+      List<Integer> bucket = buckets.get(bucketIndex);
+
+      if (bucket.isEmpty())
+        break;
+
+      if (candidateSlots.length < bucket.size())
+        candidateSlots = new int[bucket.size()];
+
+      int displacement = findDisplacement(bucket, baseHashes, occupied, candidateSlots);
+
+      displacements[bucketIndex] = displacement;
+
+      for (int i = 0; i < bucket.size(); i++) {
+        int keyIndex = bucket.get(i);
+        int slot = slotOf(baseHashes[keyIndex], displacement, size);
+        occupied[slot] = true;
+        names[slot] = keys.get(keyIndex);
+        values[slot] = valueByName.get(keys.get(keyIndex));
+      }
+    }
+
+    return new PerfectHashIndex<>(names, values, displacements);
+  }
+
+  @SuppressWarnings("unchecked")
+  public @Nullable V get(CharSequence name) {
+    if (names.length == 0)
+      return null;
+
+    long baseHash = baseHash(name);
+    int displacement = displacements[bucketOf(baseHash, displacements.length)];
+    int slot = slotOf(baseHash, displacement, names.length);
+
+    String candidate = names[slot];
+    int length = candidate.length();
+
+    if (name.length() != length)
+      return null;
+
+    for (int i = 0; i < length; i++) {
+      if (PrefixIndex.fold(candidate.charAt(i)) != PrefixIndex.fold(name.charAt(i)))
+        return null;
+    }
+
+    return (V) values[slot];
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  //=========================================================================//
+  //                                Internals                                //
+  //=========================================================================//
+
+  private static int findDisplacement(List<Integer> bucket, long[] baseHashes, boolean[] occupied, int[] candidateSlots) {
+    nextDisplacement:
+    for (int displacement = 0; displacement < MAX_DISPLACEMENT; displacement++) {
+      for (int i = 0; i < bucket.size(); i++) {
+        int slot = slotOf(baseHashes[bucket.get(i)], displacement, occupied.length);
+
+        if (occupied[slot])
+          continue nextDisplacement;
+
+        // Names of the same bucket may not collide among themselves either
+        for (int j = 0; j < i; j++) {
+          if (candidateSlots[j] == slot)
+            continue nextDisplacement;
+        }
+
+        candidateSlots[i] = slot;
+      }
+
+      return displacement;
+    }
+
+    throw new IllegalStateException("Could not find a displacement for a bucket of " + bucket.size() + " names");
+  }
+
+  /**
+   * 64-bit FNV-1a over the folded characters of the input
+   */
+  private static long baseHash(CharSequence input) {
+    long hash = 0xCBF29CE484222325L;
+
+    for (int i = 0; i < input.length(); i++) {
+      hash ^= PrefixIndex.fold(input.charAt(i));
+      hash *= 0x100000001B3L;
+    }
+
+    return hash;
+  }
+
+  private static int bucketOf(long baseHash, int bucketCount) {
+    return (int) ((mix(baseHash) >>> 1) % bucketCount);
+  }
+
+  private static int slotOf(long baseHash, int displacement, int slotCount) {
+    return (int) ((mix(baseHash + (displacement + 1) * 0x9E3779B97F4A7C15L) >>> 1) % slotCount);
+  }
+
+  // Finalizer of SplitMix64, which spreads all input bits over the whole output
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+}
@@ -28,6 +28,7 @@ import me.blvckbytes.bukkitcommands.error.CommandError;
 import me.blvckbytes.bukkitcommands.error.EErrorType;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.logging.Logger;
 
@@ -39,11 +40,27 @@ public abstract class PlayerCommand extends BukkitCommand {
 
   protected abstract void onPlayerInvocation(Player sender, String alias, String[] args);
 
+  /**
+   * Player counterpart of {@link #prepareInvocation(CommandSender, String, String[])}
+   */
+  protected @Nullable Runnable preparePlayerInvocation(Player sender, String alias, String[] args) {
+    return () -> onPlayerInvocation(sender, alias, args);
+  }
+
   @Override
   protected void onInvocation(CommandSender sender, String alias, String[] args) {
+    onPlayerInvocation(requirePlayer(sender), alias, args);
+  }
+
+  @Override
+  protected @Nullable Runnable prepareInvocation(CommandSender sender, String alias, String[] args) {
+    return preparePlayerInvocation(requirePlayer(sender), alias, args);
+  }
+
+  private Player requirePlayer(CommandSender sender) {
     if (!(sender instanceof Player))
-      throw new CommandError(null, EErrorType.NOT_A_PLAYER);
+      throw new CommandError(null, EErrorType.NOT_A_PLAYER, null, true);
 
-    onPlayerInvocation((Player) sender, alias, args);
+    return (Player) sender;
   }
 }
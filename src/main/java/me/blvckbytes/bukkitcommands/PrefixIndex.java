@@ -0,0 +1,242 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable, case-insensitive index of names to values, which is kept sorted by folded
+ * name in order to answer exact and prefix queries by binary search, in O(log n + k).
+ * Instances are safe to be shared among threads.
+ */
+public class PrefixIndex<V> {
+
+  private static final PrefixIndex<?> EMPTY = new PrefixIndex<>(new String[0], new String[0], new Object[0]);
+
+  private final String[] foldedNames;
+  private final String[] names;
+  private final Object[] values;
+
+  private PrefixIndex(String[] foldedNames, String[] names, Object[] values) {
+    this.foldedNames = foldedNames;
+    this.names = names;
+    this.values = values;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <V> PrefixIndex<V> empty() {
+    return (PrefixIndex<V>) EMPTY;
+  }
+
+  public static <V> PrefixIndex<V> of(Map<String, V> valueByName) {
+    Map.Entry<?, ?>[] entries = valueByName.entrySet().toArray(new Map.Entry<?, ?>[0]);
+    String[] foldedNames = new String[entries.length];
+
+    for (int i = 0; i < entries.length; i++)
+      foldedNames[i] = fold((String) entries[i].getKey());
+
+    Integer[] order = new Integer[entries.length];
+
+    for (int i = 0; i < order.length; i++)
+      order[i] = i;
+
+    Arrays.sort(order, Comparator.comparing(i -> foldedNames[i]));
+
+    String[] sortedFoldedNames = new String[entries.length];
+    String[] sortedNames = new String[entries.length];
+    Object[] sortedValues = new Object[entries.length];
+
+    for (int i = 0; i < order.length; i++) {
+      sortedFoldedNames[i] = foldedNames[order[i]];
+      sortedNames[i] = (String) entries[order[i]].getKey();
+      sortedValues[i] = entries[order[i]].getValue();
+    }
+
+    return new PrefixIndex<>(sortedFoldedNames, sortedNames, sortedValues);
+  }
+
+  public int size() {
+    return names.length;
+  }
+
+  @SuppressWarnings("unchecked")
+  public @Nullable V get(CharSequence name) {
+    int index = lowerBound(name);
+
+    if (index < foldedNames.length && compareFolded(foldedNames[index], name, false) == 0)
+      return (V) values[index];
+
+    return null;
+  }
+
+  /**
+   * Collects the names starting with the provided prefix, in their original casing and
+   * sorted case-insensitively, while stopping as soon as the limit has been reached
+   */
+  public List<String> getNamesStartingWith(CharSequence prefix, int limit) {
+    List<String> result = new ArrayList<>();
+
+    for (int i = lowerBound(prefix); i < foldedNames.length && result.size() < limit; i++) {
+      if (compareFolded(foldedNames[i], prefix, true) != 0)
+        break;
+
+      result.add(names[i]);
+    }
+
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<V> getValuesStartingWith(CharSequence prefix, int limit) {
+    List<V> result = new ArrayList<>();
+
+    for (int i = lowerBound(prefix); i < foldedNames.length && result.size() < limit; i++) {
+      if (compareFolded(foldedNames[i], prefix, true) != 0)
+        break;
+
+      result.add((V) values[i]);
+    }
+
+    return result;
+  }
+
+  public List<String> getNames() {
+    return Collections.unmodifiableList(Arrays.asList(names));
+  }
+
+  /**
+   * Creates a copy of this index which additionally contains the provided entry,
+   * replacing any previous entry of an equal name
+   */
+  public PrefixIndex<V> with(String name, V value) {
+    String foldedName = fold(name);
+    int index = lowerBound(foldedName);
+
+    if (index < foldedNames.length && foldedNames[index].equals(foldedName)) {
+      String[] newNames = names.clone();
+      Object[] newValues = values.clone();
+      newNames[index] = name;
+      newValues[index] = value;
+      return new PrefixIndex<>(foldedNames, newNames, newValues);
+    }
+
+    return new PrefixIndex<>(
+      insertAt(foldedNames, new String[foldedNames.length + 1], index, foldedName),
+      insertAt(names, new String[names.length + 1], index, name),
+      insertAt(values, new Object[values.length + 1], index, value)
+    );
+  }
+
+  /**
+   * Creates a copy of this index which no longer contains the entry of the provided name
+   */
+  public PrefixIndex<V> without(String name) {
+    int index = lowerBound(name);
+
+    if (index >= foldedNames.length || compareFolded(foldedNames[index], name, false) != 0)
+      return this;
+
+    return new PrefixIndex<>(
+      removeAt(foldedNames, new String[foldedNames.length - 1], index),
+      removeAt(names, new String[names.length - 1], index),
+      removeAt(values, new Object[values.length - 1], index)
+    );
+  }
+
+  /**
+   * Folds a character to it's case-insensitive representative, independently of the default locale
+   */
+  public static char fold(char c) {
+    return Character.toLowerCase(Character.toUpperCase(c));
+  }
+
+  public static String fold(String input) {
+    char[] result = new char[input.length()];
+
+    for (int i = 0; i < result.length; i++)
+      result[i] = fold(input.charAt(i));
+
+    return new String(result);
+  }
+
+  //=========================================================================//
+  //                                Internals                                //
+  //=========================================================================//
+
+  private int lowerBound(CharSequence input) {
+    int low = 0, high = foldedNames.length;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+
+      if (compareFolded(foldedNames[middle], input, false) < 0)
+        low = middle + 1;
+      else
+        high = middle;
+    }
+
+    return low;
+  }
+
+  /**
+   * Compares an already folded name to an input which is folded on the fly
+   * @param prefixOnly Whether to only consider the name up to the length of the input
+   */
+  private static int compareFolded(String foldedName, CharSequence input, boolean prefixOnly) {
+    int nameLength = foldedName.length(), inputLength = input.length();
+
+    if (prefixOnly && nameLength < inputLength)
+      return -1;
+
+    int commonLength = Math.min(nameLength, inputLength);
+
+    for (int i = 0; i < commonLength; i++) {
+      int difference = foldedName.charAt(i) - fold(input.charAt(i));
+
+      if (difference != 0)
+        return difference;
+    }
+
+    if (prefixOnly)
+      return 0;
+
+    return nameLength - inputLength;
+  }
+
+  private static <T> T[] insertAt(T[] source, T[] target, int index, T value) {
+    System.arraycopy(source, 0, target, 0, index);
+    target[index] = value;
+    System.arraycopy(source, index, target, index + 1, source.length - index);
+    return target;
+  }
+
+  private static <T> T[] removeAt(T[] source, T[] target, int index) {
+    System.arraycopy(source, 0, target, 0, index);
+    System.arraycopy(source, index + 1, target, index, source.length - index - 1);
+    return target;
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Case-insensitive radix tree of names to values, where lookups take time proportional to the length
+ * of the input, independently of the number of entries. Edges are stored folded, as per
+ * {@link PrefixIndex#fold(char)}, while the original spelling of each name is retained for completions.
+ * Instances are to be populated before being shared among threads, after which they are read-only.
+ */
+public class RadixTree<V> {
+
+  private final Node<V> root;
+  private int size;
+
+  public RadixTree() {
+    this.root = new Node<>("");
+  }
+
+  /**
+   * @return Previous value of the name, if any
+   */
+  public @Nullable V put(String name, V value) {
+    if (name.isEmpty())
+      throw new IllegalArgumentException("Names cannot be empty");
+
+    String foldedName = PrefixIndex.fold(name);
+    Node<V> node = root;
+    int position = 0;
+
+    while (true) {
+      if (position == foldedName.length()) {
+        V previous = node.value;
+
+        if (node.name == null)
+          ++size;
+
+        node.name = name;
+        node.value = value;
+        return previous;
+      }
+
+      int childIndex = node.indexOfChild(foldedName.charAt(position));
+
+      if (childIndex < 0) {
+        Node<V> leaf = new Node<>(foldedName.substring(position));
+        leaf.name = name;
+        leaf.value = value;
+        node.insertChild(-(childIndex + 1), leaf);
+        ++size;
+        return null;
+      }
+
+      Node<V> child = node.children[childIndex];
+      int commonLength = commonPrefixLength(child.label, foldedName, position);
+
+      // The edge diverges from the name, split it at the point of divergence
+      if (commonLength < child.label.length()) {
+        Node<V> split = new Node<>(child.label.substring(0, commonLength));
+        child.label = child.label.substring(commonLength);
+        split.insertChild(0, child);
+        node.children[childIndex] = split;
+        child = split;
+      }
+
+      node = child;
+      position += commonLength;
+    }
+  }
+
+  public @Nullable V get(CharSequence name) {
+    Node<V> node = root;
+    int position = 0, length = name.length();
+
+    while (position < length) {
+      int childIndex = node.indexOfChild(PrefixIndex.fold(name.charAt(position)));
+
+      if (childIndex < 0)
+        return null;
+
+      node = node.children[childIndex];
+      String label = node.label;
+
+      if (length - position < label.length())
+        return null;
+
+      // The first character has already been matched by the child lookup
+      for (int i = 1; i < label.length(); i++) {
+        if (label.charAt(i) != PrefixIndex.fold(name.charAt(position + i)))
+          return null;
+      }
+
+      position += label.length();
+    }
+
+    return node.name == null ? null : node.value;
+  }
+
+  /**
+   * @return Original names of all entries starting with the prefix, ordered by folded name
+   */
+  public List<String> getNamesStartingWith(CharSequence prefix, int limit) {
+    Node<V> node = root;
+    int position = 0, length = prefix.length();
+
+    while (position < length) {
+      int childIndex = node.indexOfChild(PrefixIndex.fold(prefix.charAt(position)));
+
+      if (childIndex < 0)
+        return Collections.emptyList();
+
+      node = node.children[childIndex];
+      String label = node.label;
+
+      // The prefix may end within an edge, in which case the whole subtree matches
+      int comparedLength = Math.min(label.length(), length - position);
+
+      for (int i = 1; i < comparedLength; i++) {
+        if (label.charAt(i) != PrefixIndex.fold(prefix.charAt(position + i)))
+          return Collections.emptyList();
+      }
+
+      position += label.length();
+    }
+
+    List<String> result = new ArrayList<>();
+    collectNames(node, result, limit);
+    return result;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  //=========================================================================//
+  //                                Internals                                //
+  //=========================================================================//
+
+  private static void collectNames(Node<?> node, List<String> output, int limit) {
+    if (output.size() >= limit)
+      return;
+
+    if (node.name != null)
+      output.add(node.name);
+
+    for (int i = 0; i < node.childCount; i++)
+      collectNames(node.children[i], output, limit);
+  }
+
+  private static int commonPrefixLength(String label, String foldedName, int offset) {
+    int maxLength = Math.min(label.length(), foldedName.length() - offset);
+    int length = 0;
+
+    while (length < maxLength && label.charAt(length) == foldedName.charAt(offset + length))
+      ++length;
+
+    return length;
+  }
+
+  private static class Node<V> {
+
+    private String label;
+    private @Nullable String name;
+    private @Nullable V value;
+
+    // Children are kept sorted by the first character of their label, which is unique among siblings
+    private char[] firstChars;
+    private Node<V>[] children;
+    private int childCount;
+
+    @SuppressWarnings("unchecked")
+    private Node(String label) {
+      this.label = label;
+      this.firstChars = new char[0];
+      this.children = (Node<V>[]) new Node[0];
+    }
+
+    /**
+     * @return Index of the matching child, or (-(insertion point) - 1) if there's none
+     */
+    private int indexOfChild(char firstChar) {
+      int low = 0, high = childCount - 1;
+
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        char current = firstChars[middle];
+
+        if (current < firstChar)
+          low = middle + 1;
+        else if (current > firstChar)
+          high = middle - 1;
+        else
+          return middle;
+      }
+
+      return -(low + 1);
+    }
+
+    private void insertChild(int index, Node<V> child) {
+      if (childCount == children.length) {
+        int newLength = Math.max(2, childCount * 2);
+        char[] newFirstChars = new char[newLength];
+        @SuppressWarnings("unchecked")
+        Node<V>[] newChildren = (Node<V>[]) new Node[newLength];
+
+        System.arraycopy(firstChars, 0, newFirstChars, 0, childCount);
+        System.arraycopy(children, 0, newChildren, 0, childCount);
+
+        this.firstChars = newFirstChars;
+        this.children = newChildren;
+      }
+
+      System.arraycopy(firstChars, index, firstChars, index + 1, childCount - index);
+      System.arraycopy(children, index, children, index + 1, childCount - index);
+
+      firstChars[index] = child.label.charAt(0);
+      children[index] = child;
+      ++childCount;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Limit of a token bucket, which holds up to {@link #burst} tokens and regains one token per refill interval
+ */
+public class RateLimit {
+
+  public final int burst;
+  public final long refillIntervalMillis;
+  public final @Nullable String bypassPermission;
+
+  public RateLimit(int burst, long refillIntervalMillis, @Nullable String bypassPermission) {
+    if (burst <= 0)
+      throw new IllegalArgumentException("The burst has to be positive");
+
+    if (refillIntervalMillis <= 0)
+      throw new IllegalArgumentException("The refill interval has to be positive");
+
+    this.burst = burst;
+    this.refillIntervalMillis = refillIntervalMillis;
+    this.bypassPermission = bypassPermission;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object other) {
+    if (!(other instanceof RateLimit))
+      return false;
+
+    RateLimit otherLimit = (RateLimit) other;
+
+    return (
+      burst == otherLimit.burst &&
+      refillIntervalMillis == otherLimit.refillIntervalMillis &&
+      Objects.equals(bypassPermission, otherLimit.bypassPermission)
+    );
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(burst, refillIntervalMillis, bypassPermission);
+  }
+}
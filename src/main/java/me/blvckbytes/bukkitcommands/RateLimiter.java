@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, keyed token buckets, implemented by the generic cell rate algorithm: each bucket is a
+ * single {@link AtomicLong} holding its theoretical arrival time, which is advanced by one refill
+ * interval per acquired token. A bucket whose arrival time lies in the past is full again and thereby
+ * indistinguishable from a new bucket, which is what allows idle buckets to be evicted periodically.
+ */
+public class RateLimiter {
+
+  private static final long SWEEP_INTERVAL_NANOS = 60_000_000_000L;
+
+  private final RateLimit limit;
+  private final long intervalNanos;
+  private final long toleranceNanos;
+  private final Map<Object, AtomicLong> buckets;
+  private final AtomicLong nextSweepNanos;
+
+  public RateLimiter(RateLimit limit) {
+    this.limit = limit;
+    this.intervalNanos = limit.refillIntervalMillis * 1_000_000L;
+    this.toleranceNanos = intervalNanos * (limit.burst - 1);
+    this.buckets = new ConcurrentHashMap<>();
+    this.nextSweepNanos = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+  }
+
+  public RateLimit getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return Whether a token has been taken from the bucket of the key
+   */
+  public boolean tryAcquire(Object key) {
+    long now = System.nanoTime();
+    sweepIfDue(now);
+
+    AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+
+    while (true) {
+      long arrivalTime = bucket.get();
+      long nextArrivalTime = Math.max(arrivalTime, now) + intervalNanos;
+
+      if (nextArrivalTime - now > toleranceNanos + intervalNanos)
+        return false;
+
+      if (bucket.compareAndSet(arrivalTime, nextArrivalTime))
+        return true;
+    }
+  }
+
+  /**
+   * @return Nanoseconds until the next token will be available to the key, zero if there already is one
+   */
+  public long getRetryAfterNanos(Object key) {
+    AtomicLong bucket = buckets.get(key);
+
+    if (bucket == null)
+      return 0;
+
+    return Math.max(0, bucket.get() - toleranceNanos - System.nanoTime());
+  }
+
+  public void reset(Object key) {
+    buckets.remove(key);
+  }
+
+  public void resetAll() {
+    buckets.clear();
+  }
+
+  public int getBucketCount() {
+    return buckets.size();
+  }
+
+  private void sweepIfDue(long now) {
+    long nextSweep = nextSweepNanos.get();
+
+    // Only a single caller wins the right to sweep, all others move on immediately
+    if (now - nextSweep < 0 || !nextSweepNanos.compareAndSet(nextSweep, now + SWEEP_INTERVAL_NANOS))
+      return;
+
+    // A token taken between reading and removing a bucket is lost, which at most grants one extra token
+    buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+  }
+}
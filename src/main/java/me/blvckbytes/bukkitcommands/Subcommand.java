@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable node of a subcommand tree, whose children are routed to by a {@link RadixTree}
+ * of their names and aliases. Nodes are created by {@link SubcommandBuilder#build()}.
+ */
+public class Subcommand {
+
+  private final String name;
+  private final List<String> aliases;
+  private final @Nullable String permission;
+  private final @Nullable ISubcommandHandler handler;
+  private final @Nullable ISubcommandCompleter completer;
+  private final @Nullable Subcommand parent;
+  private final int depth;
+  private final String usageKey;
+  private final RadixTree<Subcommand> children;
+  private final List<String> childNames;
+
+  Subcommand(SubcommandBuilder builder, @Nullable Subcommand parent) {
+    this.name = builder.name;
+    this.aliases = Collections.unmodifiableList(new ArrayList<>(builder.aliases));
+    this.permission = builder.permission;
+    this.handler = builder.handler;
+    this.completer = builder.completer;
+    this.parent = parent;
+    this.depth = parent == null ? 0 : parent.depth + 1;
+    this.usageKey = parent == null ? name : parent.usageKey + "_" + name;
+    this.children = new RadixTree<>();
+
+    List<String> childNames = new ArrayList<>();
+
+    for (SubcommandBuilder childBuilder : builder.children) {
+      Subcommand child = new Subcommand(childBuilder, this);
+      registerInto(children, child);
+      childNames.add(child.name);
+    }
+
+    this.childNames = Collections.unmodifiableList(childNames);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public List<String> getAliases() {
+    return aliases;
+  }
+
+  public @Nullable String getPermission() {
+    return permission;
+  }
+
+  public @Nullable ISubcommandHandler getHandler() {
+    return handler;
+  }
+
+  public @Nullable ISubcommandCompleter getCompleter() {
+    return completer;
+  }
+
+  public @Nullable Subcommand getParent() {
+    return parent;
+  }
+
+  /**
+   * @return Index of the argument which holds the name of this subcommand
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * @return Prefix of the keys within argument usages, like {@code give} or {@code admin_reset}
+   */
+  public String getUsageKey() {
+    return usageKey;
+  }
+
+  public RadixTree<Subcommand> getChildren() {
+    return children;
+  }
+
+  /**
+   * @return Usage of the path to this subcommand, like {@code admin reset} or {@code admin <reset|reload>}
+   */
+  public String getUsage() {
+    String usage = getPathUsage();
+
+    if (childNames.isEmpty())
+      return usage;
+
+    return usage + " <" + String.join("|", childNames) + ">";
+  }
+
+  /**
+   * Checks the permission of this subcommand as well as of all of its parents
+   */
+  public boolean isPermitted(CommandSender sender) {
+    for (Subcommand current = this; current != null; current = current.parent) {
+      if (current.permission != null && !sender.hasPermission(current.permission))
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Registers a subcommand by its name and all of its aliases
+   */
+  static void registerInto(RadixTree<Subcommand> tree, Subcommand subcommand) {
+    if (tree.put(subcommand.name, subcommand) != null)
+      throw new IllegalStateException("Duplicate subcommand name: " + subcommand.name);
+
+    for (String alias : subcommand.aliases) {
+      if (tree.put(alias, subcommand) != null)
+        throw new IllegalStateException("Duplicate subcommand alias: " + alias);
+    }
+  }
+
+  private String getPathUsage() {
+    return parent == null ? name : parent.getPathUsage() + " " + name;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SubcommandBuilder {
+
+  final String name;
+  final List<String> aliases;
+  final List<SubcommandBuilder> children;
+  String permission;
+  ISubcommandHandler handler;
+  ISubcommandCompleter completer;
+
+  public SubcommandBuilder(String name) {
+    this.name = name;
+    this.aliases = new ArrayList<>();
+    this.children = new ArrayList<>();
+  }
+
+  public SubcommandBuilder withAliases(String... aliases) {
+    this.aliases.addAll(Arrays.asList(aliases));
+    return this;
+  }
+
+  /**
+   * Sets the permission required to invoke or complete this subcommand and all of its children
+   */
+  public SubcommandBuilder withPermission(String permission) {
+    this.permission = permission;
+    return this;
+  }
+
+  public SubcommandBuilder withHandler(ISubcommandHandler handler) {
+    this.handler = handler;
+    return this;
+  }
+
+  /**
+   * Sets the completer of the arguments which follow this subcommand, which is only
+   * consulted if there are no child subcommands to be completed instead
+   */
+  public SubcommandBuilder withCompleter(ISubcommandCompleter completer) {
+    this.completer = completer;
+    return this;
+  }
+
+  public SubcommandBuilder withChild(SubcommandBuilder child) {
+    this.children.add(child);
+    return this;
+  }
+
+  public Subcommand build() {
+    return new Subcommand(this, null);
+  }
+}
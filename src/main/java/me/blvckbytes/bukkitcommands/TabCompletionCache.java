@@ -0,0 +1,257 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Cache of recent tab completions, keyed by sender, command, alias and all but the last argument.
+ * When the last argument extends the prefix of a cached result, the cached result is narrowed down
+ * instead of invoking the completion handler again. This requires handlers to only ever return
+ * completions which start with the last argument (case-insensitively), which is the common case.
+ * Handlers which cap their completions have to call {@link #markTruncated()}, as a capped result
+ * cannot be narrowed down. Players are keyed by their UUID and evicted when quitting.
+ */
+public class TabCompletionCache implements Listener {
+
+  // Set by capped completion helpers while a handler is being invoked by this cache
+  private static final ThreadLocal<Boolean> resultTruncated = ThreadLocal.withInitial(() -> false);
+
+  private final long ttlNanos;
+  private final Map<CacheKey, CacheEntry> entries;
+
+  public TabCompletionCache(Plugin plugin, long ttlMillis, int maxSize) {
+    this.ttlNanos = ttlMillis * 1_000_000L;
+
+    // Kept in order of creation, such that expired entries can be swept off of the head
+    this.entries = new LinkedHashMap<CacheKey, CacheEntry>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+        return size() > maxSize;
+      }
+    };
+
+    Bukkit.getPluginManager().registerEvents(this, plugin);
+  }
+
+  /**
+   * Marks the completions currently being computed as incomplete, which is to be called
+   * by handlers whenever they stopped adding completions due to a limit
+   */
+  public static void markTruncated() {
+    resultTruncated.set(true);
+  }
+
+  public List<String> complete(CommandSender sender, String commandName, String alias, String[] args, Supplier<List<String>> handler) {
+    if (args.length == 0)
+      return handler.get();
+
+    String prefix = args[args.length - 1];
+    CacheKey key = new CacheKey(getSenderKey(sender), commandName, alias, args);
+    long now = System.nanoTime();
+    CacheEntry entry;
+
+    synchronized (entries) {
+      evictExpired(now);
+      entry = entries.get(key);
+    }
+
+    if (entry != null && startsWithIgnoreCase(prefix, entry.prefix)) {
+      if (prefix.length() == entry.prefix.length())
+        return entry.completions;
+
+      // Completions beyond the limit may have matched the longer prefix as well
+      if (!entry.truncated) {
+        List<String> narrowed = new ArrayList<>();
+
+        for (String completion : entry.completions) {
+          if (startsWithIgnoreCase(completion, prefix))
+            narrowed.add(completion);
+        }
+
+        List<String> result = Collections.unmodifiableList(narrowed);
+
+        // Keep the narrowed result, such that the next keystroke only has to scan the remainder
+        synchronized (entries) {
+          entries.replace(key, entry, new CacheEntry(prefix, result, false, entry.createdAtNanos));
+        }
+
+        return result;
+      }
+    }
+
+    List<String> completions;
+    boolean truncated;
+
+    resultTruncated.set(false);
+
+    try {
+      completions = handler.get();
+      truncated = resultTruncated.get();
+    } finally {
+      resultTruncated.set(false);
+    }
+
+    List<String> result = Collections.unmodifiableList(new ArrayList<>(completions));
+
+    synchronized (entries) {
+      // Re-inserted, as to keep the map in order of creation
+      entries.remove(key);
+      entries.put(key, new CacheEntry(prefix, result, truncated, now));
+    }
+
+    return result;
+  }
+
+  public void invalidate(CommandSender sender) {
+    Object senderKey = getSenderKey(sender);
+
+    synchronized (entries) {
+      entries.keySet().removeIf(key -> key.senderKey.equals(senderKey));
+    }
+  }
+
+  public void invalidateCommand(String commandName) {
+    synchronized (entries) {
+      entries.keySet().removeIf(key -> key.commandName.equals(commandName));
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onQuit(PlayerQuitEvent event) {
+    invalidate(event.getPlayer());
+  }
+
+  //=========================================================================//
+  //                                Internals                                //
+  //=========================================================================//
+
+  private void evictExpired(long now) {
+    Iterator<CacheEntry> iterator = entries.values().iterator();
+
+    while (iterator.hasNext()) {
+      if (now - iterator.next().createdAtNanos <= ttlNanos)
+        break;
+
+      iterator.remove();
+    }
+  }
+
+  // Players are keyed by UUID, as to not keep them alive after quitting, while all other senders are long-lived
+  private static Object getSenderKey(CommandSender sender) {
+    if (sender instanceof Player)
+      return ((Player) sender).getUniqueId();
+
+    return sender.getName();
+  }
+
+  private static boolean startsWithIgnoreCase(String value, String prefix) {
+    return value.regionMatches(true, 0, prefix, 0, prefix.length());
+  }
+
+  private static class CacheEntry {
+
+    private final String prefix;
+    private final List<String> completions;
+    private final boolean truncated;
+    private final long createdAtNanos;
+
+    private CacheEntry(String prefix, List<String> completions, boolean truncated, long createdAtNanos) {
+      this.prefix = prefix;
+      this.completions = completions;
+      this.truncated = truncated;
+      this.createdAtNanos = createdAtNanos;
+    }
+  }
+
+  private static class CacheKey {
+
+    private final Object senderKey;
+    private final String commandName;
+    private final String alias;
+    private final String[] args;
+    private final int hashCode;
+
+    // The last argument is not part of the key, as it's what's being narrowed down
+    private CacheKey(Object senderKey, String commandName, String alias, String[] args) {
+      this.senderKey = senderKey;
+      this.commandName = commandName;
+      this.alias = alias;
+      this.args = args;
+
+      int hash = senderKey.hashCode();
+      hash = hash * 31 + commandName.hashCode();
+      hash = hash * 31 + alias.hashCode();
+
+      for (int index = 0; index < args.length - 1; index++)
+        hash = hash * 31 + args[index].hashCode();
+
+      this.hashCode = hash * 31 + args.length;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+      if (!(other instanceof CacheKey))
+        return false;
+
+      CacheKey otherKey = (CacheKey) other;
+
+      if (!senderKey.equals(otherKey.senderKey) || args.length != otherKey.args.length)
+        return false;
+
+      if (!commandName.equals(otherKey.commandName) || !alias.equals(otherKey.alias))
+        return false;
+
+      for (int index = 0; index < args.length - 1; index++) {
+        if (!args[index].equals(otherKey.args[index]))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Profile source backed by the server's local user cache (usercache.json, located within
+ * {@link org.bukkit.Bukkit#getWorldContainer()}), which is re-indexed whenever the file has
+ * been modified since the last lookup
+ */
+public class UserCacheProfileSource implements IProfileSource {
+
+  private final File userCacheFile;
+
+  private Map<String, UUID> uniqueIdByFoldedName;
+  private long indexedLastModified;
+
+  public UserCacheProfileSource(File userCacheFile) {
+    this.userCacheFile = userCacheFile;
+    this.uniqueIdByFoldedName = new HashMap<>();
+    this.indexedLastModified = -1;
+  }
+
+  @Override
+  public synchronized @Nullable UUID lookupUniqueId(String name) throws Exception {
+    long lastModified = userCacheFile.lastModified();
+
+    if (lastModified != indexedLastModified) {
+      uniqueIdByFoldedName = readIndex();
+      indexedLastModified = lastModified;
+    }
+
+    return uniqueIdByFoldedName.get(PrefixIndex.fold(name));
+  }
+
+  private Map<String, UUID> readIndex() throws Exception {
+    Map<String, UUID> result = new HashMap<>();
+
+    if (!userCacheFile.isFile())
+      return result;
+
+    try (
+      Reader reader = new InputStreamReader(Files.newInputStream(userCacheFile.toPath()), StandardCharsets.UTF_8)
+    ) {
+      JsonElement root = new JsonParser().parse(reader);
+
+      if (root == null || !root.isJsonArray())
+        return result;
+
+      for (JsonElement element : root.getAsJsonArray()) {
+        if (!element.isJsonObject())
+          continue;
+
+        JsonObject entry = element.getAsJsonObject();
+
+        if (!entry.has("name") || !entry.has("uuid"))
+          continue;
+
+        try {
+          result.put(PrefixIndex.fold(entry.get("name").getAsString()), UUID.fromString(entry.get("uuid").getAsString()));
+        } catch (IllegalArgumentException ignored) {}
+      }
+    }
+
+    return result;
+  }
+}
@@ -24,21 +24,21 @@
 
 package me.blvckbytes.bukkitcommands.config;
 
-import me.blvckbytes.bbconfigmapper.ScalarType;
 import me.blvckbytes.bbconfigmapper.sections.CSAlways;
 import me.blvckbytes.bbconfigmapper.sections.CSIgnore;
 import me.blvckbytes.bbconfigmapper.sections.IConfigSection;
 import me.blvckbytes.bukkitcommands.ICommandConfigProvider;
 import me.blvckbytes.bukkitcommands.IEnumInfo;
+import me.blvckbytes.bukkitcommands.RateLimit;
 import me.blvckbytes.bukkitcommands.error.ErrorContext;
 import me.blvckbytes.bukkitevaluable.BukkitEvaluable;
-import me.blvckbytes.gpeee.interpreter.EvaluationEnvironmentBuilder;
-import me.blvckbytes.gpeee.interpreter.IEvaluationEnvironment;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 public abstract class ACommandSection implements IConfigSection, ICommandConfigProvider {
@@ -54,9 +54,19 @@ public abstract class ACommandSection implements IConfigSection, ICommandConfigP
   @CSAlways
   private Map<String, BukkitEvaluable> argumentUsages;
 
+  // Usages by client locale, like de_de, or by language, like de, which take precedence over the above
+  @CSAlways
+  private Map<String, Map<String, BukkitEvaluable>> argumentUsageLocales;
+
   @CSAlways
   private CommandErrorMessagesSection errorMessages;
 
+  @CSAlways
+  private RateLimitSection invocationRateLimit, completionRateLimit;
+
+  @CSIgnore
+  private volatile LocalizedValues<Map<String, CompiledMessage>> compiledArgumentUsages;
+
   public ACommandSection(String defaultCommandName) {
     this.defaultCommandName = defaultCommandName;
   }
@@ -92,39 +102,49 @@ public abstract class ACommandSection implements IConfigSection, ICommandConfigP
     return this.usage;
   }
 
+  @Override
+  public @Nullable RateLimit getInvocationRateLimit() {
+    return this.invocationRateLimit.toRateLimit();
+  }
+
+  @Override
+  public @Nullable RateLimit getCompletionRateLimit() {
+    return this.completionRateLimit.toRateLimit();
+  }
+
+  @Override
+  public void afterParsing(List<Field> fields) throws Exception {
+    this.compiledArgumentUsages = compileArgumentUsages();
+  }
+
   @Override
   public String getMalformedDoubleMessage(ErrorContext errorContext) {
-    return errorMessages.getMalformedDouble().asScalar(ScalarType.STRING, getErrorContextEnvironment(errorContext));
+    return errorMessages.getCompiledMessages(errorContext.sender).malformedDouble.render(errorContext, null);
   }
 
   @Override
   public String getMalformedFloatMessage(ErrorContext errorContext) {
-    return errorMessages.getMalformedFloat().asScalar(ScalarType.STRING, getErrorContextEnvironment(errorContext));
+    return errorMessages.getCompiledMessages(errorContext.sender).malformedFloat.render(errorContext, null);
   }
 
   @Override
   public String getMalformedLongMessage(ErrorContext errorContext) {
-    return errorMessages.getMalformedLong().asScalar(ScalarType.STRING, getErrorContextEnvironment(errorContext));
+    return errorMessages.getCompiledMessages(errorContext.sender).malformedLong.render(errorContext, null);
   }
 
   @Override
   public String getMalformedIntegerMessage(ErrorContext errorContext) {
-    return errorMessages.getMalformedInteger().asScalar(ScalarType.STRING, getErrorContextEnvironment(errorContext));
+    return errorMessages.getCompiledMessages(errorContext.sender).malformedInteger.render(errorContext, null);
   }
 
   @Override
   public String getMalformedUuidMessage(ErrorContext errorContext) {
-    return errorMessages.getMalformedUuid().asScalar(ScalarType.STRING, getErrorContextEnvironment(errorContext));
+    return errorMessages.getCompiledMessages(errorContext.sender).malformedUuid.render(errorContext, null);
   }
 
   @Override
   public String getMalformedEnumMessage(ErrorContext errorContext, IEnumInfo enumInfo) {
-    return errorMessages.getMalformedEnum().asScalar(
-      ScalarType.STRING,
-      new EvaluationEnvironmentBuilder()
-        .withStaticVariable("constant_names", enumInfo.getEnumConstantNames())
-        .build(getErrorContextEnvironment(errorContext))
-    );
+    return errorMessages.getCompiledMessages(errorContext.sender).malformedEnum.render(errorContext, enumInfo);
   }
 
   @Override
@@ -132,45 +152,87 @@ public abstract class ACommandSection implements IConfigSection, ICommandConfigP
     if (errorContext.argumentIndex == null)
       throw new IllegalStateException("Argument index cannot be null if a usage string is requested");
 
+    LocalizedValues<Map<String, CompiledMessage>> localizedUsages = this.compiledArgumentUsages;
+
+    // Sections which have not been created by the mapper are compiled on first use
+    if (localizedUsages == null)
+      this.compiledArgumentUsages = localizedUsages = compileArgumentUsages();
+
+    Map<String, CompiledMessage> usages = localizedUsages.get(errorContext.sender);
     int index = errorContext.argumentIndex + 1;
-    BukkitEvaluable usageEvaluable = argumentUsages.get(String.valueOf(index));
 
-    if (usageEvaluable == null)
+    // Subcommands are configured by their path, like give_2 or admin_reset_3
+    String key = errorContext.usageKey == null ? String.valueOf(index) : errorContext.usageKey + "_" + index;
+    CompiledMessage usage = usages.get(key);
+
+    if (usage == null) {
+      if (errorContext.defaultUsage != null)
+        return "§c" + errorContext.defaultUsage;
+
       return "§cThere's no usage string configured for index " + index;
+    }
 
-    return String.join("\n", usageEvaluable.asList(ScalarType.STRING, getErrorContextEnvironment(errorContext)));
+    return usage.render(errorContext, null);
   }
 
   @Override
   public String getNotAPlayerMessage(ErrorContext errorContext) {
-    return errorMessages.getNotAPlayer().asScalar(ScalarType.STRING, getErrorContextEnvironment(errorContext));
+    return errorMessages.getCompiledMessages(errorContext.sender).notAPlayer.render(errorContext, null);
   }
 
   @Override
   public String getPlayerUnknownMessage(ErrorContext errorContext) {
-    return errorMessages.getPlayerUnknown().asScalar(ScalarType.STRING, getErrorContextEnvironment(errorContext));
+    return errorMessages.getCompiledMessages(errorContext.sender).playerUnknown.render(errorContext, null);
   }
 
   @Override
   public String getPlayerNotOnlineMessage(ErrorContext errorContext) {
-    return errorMessages.getPlayerNotOnline().asScalar(ScalarType.STRING, getErrorContextEnvironment(errorContext));
+    return errorMessages.getCompiledMessages(errorContext.sender).playerNotOnline.render(errorContext, null);
+  }
+
+  @Override
+  public String getMissingPermissionMessage(ErrorContext errorContext) {
+    return errorMessages.getCompiledMessages(errorContext.sender).missingPermission.render(errorContext, null);
+  }
+
+  @Override
+  public String getRateLimitedMessage(ErrorContext errorContext) {
+    return errorMessages.getCompiledMessages(errorContext.sender).rateLimited.render(errorContext, null);
+  }
+
+  @Override
+  public String getTooManyArgumentsMessage(ErrorContext errorContext) {
+    return errorMessages.getCompiledMessages(errorContext.sender).tooManyArguments.render(errorContext, null);
   }
 
   @Override
   public String getInternalErrorMessage(ErrorContext errorContext) {
-    return errorMessages.getInternalError().asScalar(ScalarType.STRING, getErrorContextEnvironment(errorContext));
+    return errorMessages.getCompiledMessages(errorContext.sender).internalError.render(errorContext, null);
+  }
+
+  private LocalizedValues<Map<String, CompiledMessage>> compileArgumentUsages() {
+    Map<String, CompiledMessage> defaultUsages = compileUsages(argumentUsages, null);
+    Map<String, Map<String, CompiledMessage>> localeUsages = new HashMap<>();
+
+    if (argumentUsageLocales != null) {
+      for (Map.Entry<String, Map<String, BukkitEvaluable>> entry : argumentUsageLocales.entrySet())
+        localeUsages.put(entry.getKey().toLowerCase(Locale.ROOT), compileUsages(entry.getValue(), defaultUsages));
+    }
+
+    return new LocalizedValues<>(defaultUsages, localeUsages);
   }
 
-  private IEvaluationEnvironment getErrorContextEnvironment(ErrorContext context) {
-    String value = null;
+  /**
+   * @param base Already compiled usages, which are shared for all keys not overridden
+   */
+  private static Map<String, CompiledMessage> compileUsages(@Nullable Map<String, BukkitEvaluable> usages, @Nullable Map<String, CompiledMessage> base) {
+    Map<String, CompiledMessage> result = base == null ? new HashMap<>() : new HashMap<>(base);
 
-    if (context.argumentIndex != null && context.argumentIndex < context.arguments.length)
-      value = context.arguments[context.argumentIndex];
+    if (usages != null) {
+      for (Map.Entry<String, BukkitEvaluable> entry : usages.entrySet())
+        result.put(entry.getKey(), new CompiledMessage(entry.getValue(), true));
+    }
 
-    return new EvaluationEnvironmentBuilder()
-      .withStaticVariable("value", value)
-      .withStaticVariable("alias", context.alias)
-      .withStaticVariable("sender_name", context.sender.getName())
-      .build();
+    return result;
   }
 }
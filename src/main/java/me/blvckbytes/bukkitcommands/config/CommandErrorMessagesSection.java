@@ -24,11 +24,15 @@
 
 package me.blvckbytes.bukkitcommands.config;
 
+import me.blvckbytes.bbconfigmapper.sections.CSAlways;
+import me.blvckbytes.bbconfigmapper.sections.CSIgnore;
 import me.blvckbytes.bbconfigmapper.sections.IConfigSection;
 import me.blvckbytes.bukkitevaluable.BukkitEvaluable;
+import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
+import java.util.*;
 
 public class CommandErrorMessagesSection implements IConfigSection {
 
@@ -42,8 +46,21 @@ public class CommandErrorMessagesSection implements IConfigSection {
     notAPlayer,
     playerUnknown,
     playerNotOnline,
+    missingPermission,
+    rateLimited,
+    tooManyArguments,
     internalError;
 
+  // Number of constant names listed by malformedEnum, where leaving it out keeps the default of ten
+  private @Nullable Integer constantNamesLimit;
+
+  // Messages by client locale, like de_de, or by language, like de, which take precedence over the above
+  @CSAlways
+  private Map<String, Map<String, BukkitEvaluable>> locales;
+
+  @CSIgnore
+  private volatile LocalizedValues<CompiledMessages> compiledMessages;
+
   @Override
   public @Nullable Object defaultFor(Field field) throws Exception {
     if (field.getType() == BukkitEvaluable.class)
@@ -51,6 +68,40 @@ public class CommandErrorMessagesSection implements IConfigSection {
     return IConfigSection.super.defaultFor(field);
   }
 
+  @Override
+  public void afterParsing(List<Field> fields) throws Exception {
+    compile();
+  }
+
+  /**
+   * @return Messages in the locale of the sender, falling back to its language and then to the default messages
+   */
+  CompiledMessages getCompiledMessages(CommandSender sender) {
+    LocalizedValues<CompiledMessages> messages = this.compiledMessages;
+
+    // Sections which have not been created by the mapper are compiled on first use
+    if (messages == null)
+      messages = compile();
+
+    return messages.get(sender);
+  }
+
+  private synchronized LocalizedValues<CompiledMessages> compile() {
+    CompiledMessages defaultMessages = new CompiledMessages(this, null, null);
+    Map<String, CompiledMessages> localeMessages = new HashMap<>();
+
+    if (locales != null) {
+      for (Map.Entry<String, Map<String, BukkitEvaluable>> entry : locales.entrySet()) {
+        String locale = entry.getKey().toLowerCase(Locale.ROOT);
+        localeMessages.put(locale, new CompiledMessages(this, entry.getValue(), defaultMessages));
+      }
+    }
+
+    LocalizedValues<CompiledMessages> result = new LocalizedValues<>(defaultMessages, localeMessages);
+    this.compiledMessages = result;
+    return result;
+  }
+
   public BukkitEvaluable getMalformedDouble() {
     return malformedDouble;
   }
@@ -87,7 +138,113 @@ public class CommandErrorMessagesSection implements IConfigSection {
     return playerNotOnline;
   }
 
+  public BukkitEvaluable getMissingPermission() {
+    return missingPermission;
+  }
+
+  public BukkitEvaluable getRateLimited() {
+    return rateLimited;
+  }
+
+  public BukkitEvaluable getTooManyArguments() {
+    return tooManyArguments;
+  }
+
   public BukkitEvaluable getInternalError() {
     return internalError;
   }
+
+  public int getConstantNamesLimit() {
+    if (constantNamesLimit == null || constantNamesLimit < 0)
+      return ErrorRenderScope.DEFAULT_CONSTANT_NAMES_LIMIT;
+
+    return constantNamesLimit;
+  }
+
+  public Map<String, Map<String, BukkitEvaluable>> getLocales() {
+    return locales;
+  }
+
+  static class CompiledMessages {
+
+    private static final Set<String> MESSAGE_NAMES = new HashSet<>(Arrays.asList(
+      "malformedDouble",
+      "malformedFloat",
+      "malformedLong",
+      "malformedInteger",
+      "malformedUuid",
+      "malformedEnum",
+      "notAPlayer",
+      "playerUnknown",
+      "playerNotOnline",
+      "missingPermission",
+      "rateLimited",
+      "tooManyArguments",
+      "internalError"
+    ));
+
+    final CompiledMessage
+      malformedDouble,
+      malformedFloat,
+      malformedLong,
+      malformedInteger,
+      malformedUuid,
+      malformedEnum,
+      notAPlayer,
+      playerUnknown,
+      playerNotOnline,
+      missingPermission,
+      rateLimited,
+      tooManyArguments,
+      internalError;
+
+    /**
+     * @param overrides Messages by field name which replace those of the section, if any
+     * @param base Already compiled messages of the section, which are shared instead of compiled again
+     */
+    private CompiledMessages(
+      CommandErrorMessagesSection section,
+      @Nullable Map<String, BukkitEvaluable> overrides,
+      @Nullable CompiledMessages base
+    ) {
+      if (overrides != null) {
+        for (String name : overrides.keySet()) {
+          if (!MESSAGE_NAMES.contains(name))
+            throw new IllegalStateException("Unknown error message: " + name);
+        }
+      }
+
+      this.malformedDouble = select(section, overrides, "malformedDouble", section.malformedDouble, base == null ? null : base.malformedDouble);
+      this.malformedFloat = select(section, overrides, "malformedFloat", section.malformedFloat, base == null ? null : base.malformedFloat);
+      this.malformedLong = select(section, overrides, "malformedLong", section.malformedLong, base == null ? null : base.malformedLong);
+      this.malformedInteger = select(section, overrides, "malformedInteger", section.malformedInteger, base == null ? null : base.malformedInteger);
+      this.malformedUuid = select(section, overrides, "malformedUuid", section.malformedUuid, base == null ? null : base.malformedUuid);
+      this.malformedEnum = select(section, overrides, "malformedEnum", section.malformedEnum, base == null ? null : base.malformedEnum);
+      this.notAPlayer = select(section, overrides, "notAPlayer", section.notAPlayer, base == null ? null : base.notAPlayer);
+      this.playerUnknown = select(section, overrides, "playerUnknown", section.playerUnknown, base == null ? null : base.playerUnknown);
+      this.playerNotOnline = select(section, overrides, "playerNotOnline", section.playerNotOnline, base == null ? null : base.playerNotOnline);
+      this.missingPermission = select(section, overrides, "missingPermission", section.missingPermission, base == null ? null : base.missingPermission);
+      this.rateLimited = select(section, overrides, "rateLimited", section.rateLimited, base == null ? null : base.rateLimited);
+      this.tooManyArguments = select(section, overrides, "tooManyArguments", section.tooManyArguments, base == null ? null : base.tooManyArguments);
+      this.internalError = select(section, overrides, "internalError", section.internalError, base == null ? null : base.internalError);
+    }
+
+    private static CompiledMessage select(
+      CommandErrorMessagesSection section,
+      @Nullable Map<String, BukkitEvaluable> overrides,
+      String name,
+      BukkitEvaluable value,
+      @Nullable CompiledMessage compiledValue
+    ) {
+      BukkitEvaluable override = overrides == null ? null : overrides.get(name);
+
+      if (override != null)
+        return new CompiledMessage(override, false, section.getConstantNamesLimit());
+
+      if (compiledValue != null)
+        return compiledValue;
+
+      return new CompiledMessage(value, false, section.getConstantNamesLimit());
+    }
+  }
 }
@@ -0,0 +1,184 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.config;
+
+import me.blvckbytes.bbconfigmapper.ScalarType;
+import me.blvckbytes.bukkitcommands.EnumInfoCache;
+import me.blvckbytes.bukkitcommands.IEnumInfo;
+import me.blvckbytes.bukkitcommands.ISuggestionSource;
+import me.blvckbytes.bukkitcommands.error.ErrorContext;
+import me.blvckbytes.bukkitevaluable.BukkitEvaluable;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Error message template which has been evaluated ahead of time in order to find out whether
+ * it depends on any of the variables of it's environment. A template which reads no variable
+ * takes the same path for every input, so it is rendered once, while all other templates keep
+ * a small cache of their most recent outputs per alias and value.
+ */
+class CompiledMessage {
+
+  private static final int CACHE_CAPACITY = 64;
+  private static final String PROBE_MARKER = "\u0000";
+  private static final ISuggestionSource PROBE_SUGGESTIONS = (input, limit) -> Collections.singletonList(PROBE_MARKER);
+
+  // Cached in place of an output which depends on the sender, compared by identity
+  private static final String SENDER_DEPENDENT = new String("sender-dependent");
+
+  private final BukkitEvaluable evaluable;
+  private final boolean joinLines;
+  private final int constantNamesLimit;
+  private final @Nullable String constantOutput;
+  private final @Nullable Map<RenderKey, String> outputCache;
+
+  CompiledMessage(BukkitEvaluable evaluable, boolean joinLines) {
+    this(evaluable, joinLines, ErrorRenderScope.DEFAULT_CONSTANT_NAMES_LIMIT);
+  }
+
+  CompiledMessage(BukkitEvaluable evaluable, boolean joinLines, int constantNamesLimit) {
+    this.evaluable = evaluable;
+    this.joinLines = joinLines;
+    this.constantNamesLimit = constantNamesLimit;
+
+    String constantOutput = null;
+
+    try {
+      ErrorRenderScope scope = ErrorRenderScope.current();
+      scope.set(PROBE_MARKER, PROBE_MARKER, PROBE_MARKER, EnumInfoCache.get(ProbeEnum.class), PROBE_SUGGESTIONS, constantNamesLimit);
+      String output = evaluate();
+
+      if (scope.getReferencedVariables() == 0)
+        constantOutput = output;
+    } catch (Exception ignored) {
+      // Templates which fail on probe values are simply not treated as constants
+    } finally {
+      ErrorRenderScope.current().clear();
+    }
+
+    this.constantOutput = constantOutput;
+
+    this.outputCache = constantOutput != null ? null : new LinkedHashMap<RenderKey, String>(16, .75F, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<RenderKey, String> eldest) {
+        return size() > CACHE_CAPACITY;
+      }
+    };
+  }
+
+  String render(ErrorContext context, @Nullable IEnumInfo enumInfo) {
+    if (constantOutput != null)
+      return constantOutput;
+
+    String value = null;
+
+    if (context.argumentIndex != null && context.argumentIndex < context.arguments.length)
+      value = context.arguments[context.argumentIndex];
+
+    RenderKey key = new RenderKey(value, context.alias, enumInfo, context.suggestionSource);
+    String output;
+
+    synchronized (Objects.requireNonNull(outputCache)) {
+      output = outputCache.get(key);
+    }
+
+    if (output != null && output != SENDER_DEPENDENT)
+      return output;
+
+    boolean isSenderDependent;
+
+    try {
+      ErrorRenderScope scope = ErrorRenderScope.current();
+      scope.set(value, context.alias, context.sender.getName(), enumInfo, context.suggestionSource, constantNamesLimit);
+      output = evaluate();
+      isSenderDependent = (scope.getReferencedVariables() & ErrorRenderScope.REFERENCED_SENDER_NAME) != 0;
+    } finally {
+      ErrorRenderScope.current().clear();
+    }
+
+    // Up until reading the sender's name, the path taken only depends on the key, so whether the
+    // name is read is a property of the key as well; such outputs are not worth caching per sender
+    synchronized (outputCache) {
+      outputCache.put(key, isSenderDependent ? SENDER_DEPENDENT : output);
+    }
+
+    return output;
+  }
+
+  // Reads all variables from the scope of the current thread
+  private String evaluate() {
+    if (joinLines)
+      return String.join("\n", evaluable.<String>asList(ScalarType.STRING, ErrorRenderScope.ENVIRONMENT));
+
+    return evaluable.asScalar(ScalarType.STRING, ErrorRenderScope.ENVIRONMENT);
+  }
+
+  private static class RenderKey {
+
+    private final @Nullable String value;
+    private final @Nullable String alias;
+    private final @Nullable IEnumInfo enumInfo;
+    private final @Nullable ISuggestionSource suggestionSource;
+    private final int hashCode;
+
+    private RenderKey(
+      @Nullable String value,
+      @Nullable String alias,
+      @Nullable IEnumInfo enumInfo,
+      @Nullable ISuggestionSource suggestionSource
+    ) {
+      this.value = value;
+      this.alias = alias;
+      this.enumInfo = enumInfo;
+      this.suggestionSource = suggestionSource;
+      this.hashCode = Objects.hash(value, alias, System.identityHashCode(enumInfo), System.identityHashCode(suggestionSource));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof RenderKey))
+        return false;
+
+      RenderKey otherKey = (RenderKey) other;
+
+      return (
+        enumInfo == otherKey.enumInfo &&
+        suggestionSource == otherKey.suggestionSource &&
+        Objects.equals(value, otherKey.value) &&
+        Objects.equals(alias, otherKey.alias)
+      );
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private enum ProbeEnum {
+    PROBE
+  }
+}
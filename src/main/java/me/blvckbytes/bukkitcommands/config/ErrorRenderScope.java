@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.config;
+
+import me.blvckbytes.bukkitcommands.IEnumInfo;
+import me.blvckbytes.bukkitcommands.ISuggestionSource;
+import me.blvckbytes.gpeee.interpreter.EvaluationEnvironmentBuilder;
+import me.blvckbytes.gpeee.interpreter.IEvaluationEnvironment;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-thread holder of the variables of the error message which is currently being rendered. A single
+ * environment reads its variables from the scope of the evaluating thread, such that environments don't
+ * have to be built anew for each message.
+ */
+class ErrorRenderScope {
+
+  private static final int SUGGESTION_LIMIT = 3;
+
+  // Number of ranked names in constant_names, unless configured otherwise
+  static final int DEFAULT_CONSTANT_NAMES_LIMIT = 10;
+
+  // Flags of the variables which have been read while rendering
+  static final int REFERENCED_VALUE = 1;
+  static final int REFERENCED_ALIAS = 1 << 1;
+  static final int REFERENCED_SENDER_NAME = 1 << 2;
+  static final int REFERENCED_ENUM = 1 << 3;
+  static final int REFERENCED_SUGGESTIONS = 1 << 4;
+
+  private static final ThreadLocal<ErrorRenderScope> currentScope = ThreadLocal.withInitial(ErrorRenderScope::new);
+
+  static final IEvaluationEnvironment ENVIRONMENT = new EvaluationEnvironmentBuilder()
+    .withLiveVariable("value", () -> referenced(REFERENCED_VALUE).value)
+    .withLiveVariable("alias", () -> referenced(REFERENCED_ALIAS).alias)
+    .withLiveVariable("sender_name", () -> referenced(REFERENCED_SENDER_NAME).senderName)
+    .withLiveVariable("constant_names", () -> referenced(REFERENCED_ENUM | REFERENCED_VALUE).getConstantNames())
+    // All names in the same order, as to be paged through by the template, which are only ranked if accessed
+    .withLiveVariable("constant_names_all", () -> referenced(REFERENCED_ENUM | REFERENCED_VALUE).getAllConstantNames())
+    .withLiveVariable("constant_count", () -> {
+      IEnumInfo enumInfo = referenced(REFERENCED_ENUM).enumInfo;
+      return enumInfo == null ? 0 : enumInfo.getEnumConstants().size();
+    })
+    // Only computed if referenced by the template, falling back to the constants of the enum
+    .withLiveVariable("suggestions", () -> {
+      ErrorRenderScope scope = referenced(REFERENCED_SUGGESTIONS | REFERENCED_ENUM | REFERENCED_VALUE);
+      ISuggestionSource source = scope.suggestionSource != null ? scope.suggestionSource : scope.enumInfo;
+
+      if (source == null || scope.value == null)
+        return Collections.emptyList();
+
+      return source.suggest(scope.value, SUGGESTION_LIMIT);
+    })
+    .build();
+
+  @Nullable String value;
+  @Nullable String alias;
+  @Nullable String senderName;
+  @Nullable IEnumInfo enumInfo;
+  @Nullable ISuggestionSource suggestionSource;
+  int constantNamesLimit;
+
+  // Shared among all references to the variable within a single message
+  private @Nullable List<String> constantNames, allConstantNames;
+
+  private int referencedVariables;
+
+  static ErrorRenderScope current() {
+    return currentScope.get();
+  }
+
+  private static ErrorRenderScope referenced(int variables) {
+    ErrorRenderScope scope = current();
+    scope.referencedVariables |= variables;
+    return scope;
+  }
+
+  /**
+   * @return Flags of all variables which have been read since the last call to {@link #set}
+   */
+  int getReferencedVariables() {
+    return referencedVariables;
+  }
+
+  void set(
+    @Nullable String value,
+    @Nullable String alias,
+    @Nullable String senderName,
+    @Nullable IEnumInfo enumInfo,
+    @Nullable ISuggestionSource suggestionSource,
+    int constantNamesLimit
+  ) {
+    this.value = value;
+    this.alias = alias;
+    this.senderName = senderName;
+    this.enumInfo = enumInfo;
+    this.suggestionSource = suggestionSource;
+    this.constantNamesLimit = constantNamesLimit;
+    this.constantNames = null;
+    this.allConstantNames = null;
+    this.referencedVariables = 0;
+  }
+
+  private List<String> getConstantNames() {
+    if (enumInfo == null)
+      return Collections.emptyList();
+
+    if (constantNames == null)
+      constantNames = new RankedConstantNames(enumInfo, value, constantNamesLimit);
+
+    return constantNames;
+  }
+
+  private List<String> getAllConstantNames() {
+    if (enumInfo == null)
+      return Collections.emptyList();
+
+    if (allConstantNames == null)
+      allConstantNames = new RankedConstantNames(enumInfo, value, Integer.MAX_VALUE);
+
+    return allConstantNames;
+  }
+
+  // Drop all references after rendering, as the scope outlives the message
+  void clear() {
+    set(null, null, null, null, null, DEFAULT_CONSTANT_NAMES_LIMIT);
+  }
+}
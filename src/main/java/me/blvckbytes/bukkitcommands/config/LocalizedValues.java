@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.config;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Values by configured locale, like de_de, or by language, like de, which are selected by the client locale of
+ * players and fall back to a default value. Resolutions are memoized per client locale, of which there are only a
+ * handful in practice, while clients may report arbitrary values, which is why the memo is bounded.
+ */
+class LocalizedValues<T> {
+
+  private static final int MAX_MEMOIZED_CLIENT_LOCALES = 64;
+
+  private final T defaultValue;
+  private final Map<String, T> valuesByLocale;
+  private final Map<String, T> valuesByClientLocale;
+
+  /**
+   * @param valuesByLocale Values by lower-case locale or language
+   */
+  LocalizedValues(T defaultValue, Map<String, T> valuesByLocale) {
+    this.defaultValue = defaultValue;
+    this.valuesByLocale = valuesByLocale;
+    this.valuesByClientLocale = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * @return Value in the locale of the sender, falling back to its language and then to the default value
+   */
+  T get(CommandSender sender) {
+    if (valuesByLocale.isEmpty() || !(sender instanceof Player))
+      return defaultValue;
+
+    String clientLocale = ((Player) sender).getLocale();
+
+    if (clientLocale == null)
+      return defaultValue;
+
+    T result = valuesByClientLocale.get(clientLocale);
+
+    if (result != null)
+      return result;
+
+    String locale = clientLocale.toLowerCase(Locale.ROOT);
+    result = valuesByLocale.get(locale);
+
+    if (result == null) {
+      int separatorIndex = locale.indexOf('_');
+
+      if (separatorIndex > 0)
+        result = valuesByLocale.get(locale.substring(0, separatorIndex));
+    }
+
+    if (result == null)
+      result = defaultValue;
+
+    // Further locales are still resolved, just not remembered
+    if (valuesByClientLocale.size() < MAX_MEMOIZED_CLIENT_LOCALES)
+      valuesByClientLocale.put(clientLocale, result);
+
+    return result;
+  }
+}
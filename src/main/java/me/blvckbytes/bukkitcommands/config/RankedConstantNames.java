@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.config;
+
+import me.blvckbytes.bukkitcommands.IEnumInfo;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * View of at most a limited number of constant names, ranked by their relevance to a rejected value:
+ * names starting with the value come first, followed by similar names and then by the remaining names
+ * in declaration order. Ranking is deferred until an element is first accessed and never touches more
+ * names than are needed, such that large enums don't cost more than small ones.
+ */
+class RankedConstantNames extends AbstractList<String> {
+
+  private final IEnumInfo enumInfo;
+  private final @Nullable String value;
+  private final int size;
+
+  private @Nullable List<String> rankedNames;
+
+  RankedConstantNames(IEnumInfo enumInfo, @Nullable String value, int limit) {
+    this.enumInfo = enumInfo;
+    this.value = value;
+    this.size = Math.min(limit, enumInfo.getEnumConstantNames().size());
+  }
+
+  @Override
+  public String get(int index) {
+    List<String> result = this.rankedNames;
+
+    if (result == null)
+      this.rankedNames = result = rank();
+
+    return result.get(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  private List<String> rank() {
+    Set<String> result = new LinkedHashSet<>(size * 2);
+
+    if (value != null && !value.isEmpty()) {
+      result.addAll(enumInfo.getEnumConstantNamesStartingWith(value, size));
+
+      if (result.size() < size)
+        result.addAll(enumInfo.suggest(value, size - result.size()));
+    }
+
+    // Every name already taken is skipped at most once, so this visits at most twice the limit
+    for (Iterator<String> names = enumInfo.getEnumConstantNames().iterator(); result.size() < size && names.hasNext();)
+      result.add(names.next());
+
+    return new ArrayList<>(result);
+  }
+}
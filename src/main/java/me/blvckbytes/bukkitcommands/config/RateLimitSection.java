@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.config;
+
+import me.blvckbytes.bbconfigmapper.sections.IConfigSection;
+import me.blvckbytes.bukkitcommands.RateLimit;
+import org.jetbrains.annotations.Nullable;
+
+public class RateLimitSection implements IConfigSection {
+
+  private @Nullable Integer burst;
+  private @Nullable Long refillIntervalMillis;
+  private @Nullable String bypassPermission;
+
+  public @Nullable Integer getBurst() {
+    return burst;
+  }
+
+  public @Nullable Long getRefillIntervalMillis() {
+    return refillIntervalMillis;
+  }
+
+  public @Nullable String getBypassPermission() {
+    return bypassPermission;
+  }
+
+  /**
+   * @return Configured limit, or null if it has been left out, which disables rate limiting
+   */
+  public @Nullable RateLimit toRateLimit() {
+    if (burst == null || burst <= 0 || refillIntervalMillis == null || refillIntervalMillis <= 0)
+      return null;
+
+    return new RateLimit(burst, refillIntervalMillis, bypassPermission);
+  }
+}
@@ -24,6 +24,7 @@
 
 package me.blvckbytes.bukkitcommands.error;
 
+import me.blvckbytes.bukkitcommands.CommandTokens;
 import org.jetbrains.annotations.Nullable;
 
 public class CommandError extends RuntimeException {
@@ -32,13 +33,30 @@ public class CommandError extends RuntimeException {
   public final EErrorType errorType;
   public final Object parameter;
 
+  // Tokens the argument index refers to, if the command tokenized its arguments
+  public final @Nullable CommandTokens tokens;
+
   public CommandError(@Nullable Integer argumentIndex, EErrorType errorType) {
     this(argumentIndex, errorType, null);
   }
 
   public CommandError(@Nullable Integer argumentIndex, EErrorType errorType, Object parameter) {
+    this(argumentIndex, errorType, parameter, false);
+  }
+
+  /**
+   * @param stackless Whether to skip capturing a stack trace, which is the preferred mode
+   *                  for errors which only serve as control-flow back to the error handler
+   */
+  public CommandError(@Nullable Integer argumentIndex, EErrorType errorType, Object parameter, boolean stackless) {
+    this(argumentIndex, errorType, parameter, stackless, null);
+  }
+
+  public CommandError(@Nullable Integer argumentIndex, EErrorType errorType, Object parameter, boolean stackless, @Nullable CommandTokens tokens) {
+    super(null, null, true, !stackless);
     this.argumentIndex = argumentIndex;
     this.errorType = errorType;
     this.parameter = parameter;
+    this.tokens = tokens;
   }
 }
@@ -34,5 +34,8 @@ public enum EErrorType {
   MISSING_ARGUMENT,
   NOT_A_PLAYER,
   PLAYER_UNKNOWN,
-  PLAYER_NOT_ONLINE
+  PLAYER_NOT_ONLINE,
+  MISSING_PERMISSION,
+  RATE_LIMITED,
+  TOO_MANY_ARGUMENTS
 }
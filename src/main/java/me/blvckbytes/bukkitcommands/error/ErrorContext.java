@@ -24,6 +24,7 @@
 
 package me.blvckbytes.bukkitcommands.error;
 
+import me.blvckbytes.bukkitcommands.ISuggestionSource;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.Nullable;
 
@@ -34,10 +35,49 @@ public class ErrorContext {
   public final String[] arguments;
   public final @Nullable Integer argumentIndex;
 
+  // Usage derived from the command's signature, if any, for when no usage has been configured
+  public final @Nullable String defaultUsage;
+
+  // Key prefix of the argument usages of the subcommand the arguments have been routed to, if any
+  public final @Nullable String usageKey;
+
+  // Source of names similar to the erroneous value, if there's any besides the enum of the error
+  public final @Nullable ISuggestionSource suggestionSource;
+
   public ErrorContext(CommandSender sender, String alias, String[] arguments, @Nullable Integer argumentIndex) {
+    this(sender, alias, arguments, argumentIndex, null);
+  }
+
+  public ErrorContext(CommandSender sender, String alias, String[] arguments, @Nullable Integer argumentIndex, @Nullable String defaultUsage) {
+    this(sender, alias, arguments, argumentIndex, defaultUsage, null);
+  }
+
+  public ErrorContext(
+    CommandSender sender,
+    String alias,
+    String[] arguments,
+    @Nullable Integer argumentIndex,
+    @Nullable String defaultUsage,
+    @Nullable String usageKey
+  ) {
+    this(sender, alias, arguments, argumentIndex, defaultUsage, usageKey, null);
+  }
+
+  public ErrorContext(
+    CommandSender sender,
+    String alias,
+    String[] arguments,
+    @Nullable Integer argumentIndex,
+    @Nullable String defaultUsage,
+    @Nullable String usageKey,
+    @Nullable ISuggestionSource suggestionSource
+  ) {
     this.sender = sender;
     this.alias = alias;
     this.arguments = arguments;
     this.argumentIndex = argumentIndex;
+    this.defaultUsage = defaultUsage;
+    this.usageKey = usageKey;
+    this.suggestionSource = suggestionSource;
   }
 }
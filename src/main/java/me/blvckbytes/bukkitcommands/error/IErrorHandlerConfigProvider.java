@@ -48,6 +48,22 @@ public interface IErrorHandlerConfigProvider {
 
   String getPlayerNotOnlineMessage(ErrorContext context);
 
+  // Defaulted, as to not break providers which predate subcommand permissions
+  default String getMissingPermissionMessage(ErrorContext context) {
+    return "§cYou are not permitted to use this subcommand";
+  }
+
+  default String getRateLimitedMessage(ErrorContext context) {
+    return "§cPlease slow down before using this command again";
+  }
+
+  default String getTooManyArgumentsMessage(ErrorContext context) {
+    if (context.defaultUsage != null)
+      return "§c" + context.defaultUsage;
+
+    return "§cToo many arguments";
+  }
+
   String getInternalErrorMessage(ErrorContext context);
 
 }
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.metrics;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * A single invocation or completion of a command. Arguments are only kept as a digest, such
+ * that traces can tell identical calls apart without retaining what players typed.
+ */
+public class CommandCall {
+
+  private final ECallKind kind;
+  private final String commandName;
+  private final CommandSender sender;
+  private final String alias;
+  private final int argumentCount;
+  private final long argumentDigest;
+  private final long beginNanos;
+  private long endNanos;
+
+  CommandCall(ECallKind kind, String commandName, CommandSender sender, String alias, String[] args, long beginNanos) {
+    this.kind = kind;
+    this.commandName = commandName;
+    this.sender = sender;
+    this.alias = alias;
+    this.argumentCount = args.length;
+    this.argumentDigest = digest(args);
+    this.beginNanos = beginNanos;
+  }
+
+  public ECallKind getKind() {
+    return kind;
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public CommandSender getSender() {
+    return sender;
+  }
+
+  public String getAlias() {
+    return alias;
+  }
+
+  public int getArgumentCount() {
+    return argumentCount;
+  }
+
+  public long getArgumentDigest() {
+    return argumentDigest;
+  }
+
+  public long getBeginNanos() {
+    return beginNanos;
+  }
+
+  /**
+   * @return Time of completion, or zero while the call is still running
+   */
+  public long getEndNanos() {
+    return endNanos;
+  }
+
+  public long getDurationNanos() {
+    return endNanos == 0 ? 0 : endNanos - beginNanos;
+  }
+
+  void setEndNanos(long endNanos) {
+    this.endNanos = endNanos;
+  }
+
+  /**
+   * 64-bit FNV-1a over all arguments, separated by a character which cannot be part of an argument
+   */
+  static long digest(String[] args) {
+    long hash = 0xCBF29CE484222325L;
+
+    for (String arg : args) {
+      for (int i = 0; i < arg.length(); i++) {
+        hash ^= arg.charAt(i);
+        hash *= 0x100000001B3L;
+      }
+
+      hash ^= ' ';
+      hash *= 0x100000001B3L;
+    }
+
+    return hash;
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.metrics;
+
+import me.blvckbytes.bukkitcommands.error.EErrorType;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics of a single command, which are tracked in total as well as per alias used to invoke it
+ */
+public class CommandMetrics {
+
+  private final String commandName;
+  private final InvocationMetrics total;
+  private final Map<String, InvocationMetrics> metricsByAlias;
+
+  public CommandMetrics(String commandName) {
+    this.commandName = commandName;
+    this.total = new InvocationMetrics();
+    this.metricsByAlias = new ConcurrentHashMap<>();
+  }
+
+  public void recordInvocation(String alias, long nanos) {
+    total.recordInvocation(nanos);
+    forAlias(alias).recordInvocation(nanos);
+  }
+
+  public void recordCompletion(String alias, long nanos) {
+    total.recordCompletion(nanos);
+    forAlias(alias).recordCompletion(nanos);
+  }
+
+  public void recordError(String alias, EErrorType errorType) {
+    total.recordError(errorType);
+    forAlias(alias).recordError(errorType);
+  }
+
+  public void recordInternalError(String alias) {
+    total.recordInternalError();
+    forAlias(alias).recordInternalError();
+  }
+
+  public String getCommandName() {
+    return commandName;
+  }
+
+  public InvocationMetrics getTotal() {
+    return total;
+  }
+
+  public Map<String, InvocationMetrics> getMetricsByAlias() {
+    return Collections.unmodifiableMap(metricsByAlias);
+  }
+
+  public void reset() {
+    total.reset();
+    metricsByAlias.clear();
+  }
+
+  private InvocationMetrics forAlias(String alias) {
+    InvocationMetrics result = metricsByAlias.get(alias);
+
+    // Aliases are looked up as-is first, as they're mostly sent in lower case already
+    if (result != null)
+      return result;
+
+    return metricsByAlias.computeIfAbsent(alias.toLowerCase(Locale.ROOT), key -> new InvocationMetrics());
+  }
+}
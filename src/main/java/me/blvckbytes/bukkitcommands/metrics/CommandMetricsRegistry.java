@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.metrics;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process registry of the metrics of all registered commands, meant to be polled by monitoring. Metrics
+ * are keyed by the fallback-prefixed label of their command, like <code>plugin:command</code>, which stays
+ * unique even if multiple plugins register commands of the same name.
+ */
+public final class CommandMetricsRegistry {
+
+  private static final Map<String, CommandMetrics> metricsByPrefixedLabel = new ConcurrentHashMap<>();
+
+  private CommandMetricsRegistry() {}
+
+  /**
+   * Registers the metrics of a command, replacing the metrics of a previous command of the same prefixed label
+   */
+  public static void register(String prefixedLabel, CommandMetrics metrics) {
+    metricsByPrefixedLabel.put(prefixedLabel, metrics);
+  }
+
+  /**
+   * Unregisters the metrics of a command, unless they've been replaced by another command's metrics in the meantime
+   */
+  public static void unregister(String prefixedLabel, CommandMetrics metrics) {
+    metricsByPrefixedLabel.remove(prefixedLabel, metrics);
+  }
+
+  public static @Nullable CommandMetrics get(String prefixedLabel) {
+    return metricsByPrefixedLabel.get(prefixedLabel);
+  }
+
+  public static Map<String, CommandMetrics> getAll() {
+    return Collections.unmodifiableMap(metricsByPrefixedLabel);
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.metrics;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Sampled tracing of command calls as well as detection of slow calls, which may be shared by many commands.
+ * Calls which are neither sampled nor slow only cost a random draw and a comparison of their duration.
+ * If requested, a watchdog thread takes a stack sample of the server thread while a slow call is still
+ * running on it, which shows where it's stuck, as opposed to where it ended up.
+ */
+public class CommandTracing {
+
+  private final @Nullable ICommandTracer tracer;
+  private final int sampleInterval;
+  private final long slowThresholdNanos;
+  private final Logger logger;
+  private final @Nullable ScheduledExecutorService watchdog;
+
+  // Outermost call on the server thread, which is only ever written to by the server thread itself
+  private final MainThreadCall mainThreadCall;
+
+  /**
+   * @param tracer Tracer to hand sampled calls to, if any
+   * @param sampleInterval Trace one out of this many calls on average, with values below one disabling tracing
+   * @param slowThresholdMillis Duration above which calls are logged as slow, with values below one disabling detection
+   * @param sampleMainThreadStack Whether to sample the stack of the server thread while a slow call is still running
+   */
+  public CommandTracing(
+    @Nullable ICommandTracer tracer,
+    int sampleInterval,
+    long slowThresholdMillis,
+    boolean sampleMainThreadStack,
+    Logger logger
+  ) {
+    this.tracer = tracer;
+    this.sampleInterval = tracer == null ? 0 : sampleInterval;
+    this.slowThresholdNanos = slowThresholdMillis <= 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    this.logger = logger;
+    this.mainThreadCall = new MainThreadCall();
+
+    if (sampleMainThreadStack && slowThresholdMillis > 0) {
+      this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BukkitCommands-Watchdog");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+      long pollIntervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), slowThresholdNanos / 4);
+      this.watchdog.scheduleAtFixedRate(this::pollMainThread, pollIntervalNanos, pollIntervalNanos, TimeUnit.NANOSECONDS);
+    } else {
+      this.watchdog = null;
+    }
+  }
+
+  /**
+   * @return The sampled call, or null if this call is not being traced
+   */
+  public @Nullable CommandCall begin(ECallKind kind, String commandName, CommandSender sender, String alias, String[] args, long beginNanos) {
+    CommandCall call = null;
+
+    if (sampleInterval > 0 && (sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0)) {
+      call = new CommandCall(kind, commandName, sender, alias, args, beginNanos);
+      tracer.onBegin(call);
+    }
+
+    // Nested calls on the server thread are attributed to the outermost call
+    if (watchdog != null && mainThreadCall.beginNanos == 0 && Bukkit.isPrimaryThread())
+      mainThreadCall.enter(Thread.currentThread(), beginNanos);
+
+    return call;
+  }
+
+  public void end(
+    @Nullable CommandCall call,
+    ECallKind kind,
+    String commandName,
+    CommandSender sender,
+    String alias,
+    String[] args,
+    long beginNanos,
+    long endNanos
+  ) {
+    StackTraceElement[] stackSample = null;
+
+    if (watchdog != null && mainThreadCall.beginNanos == beginNanos && mainThreadCall.thread == Thread.currentThread())
+      stackSample = mainThreadCall.exit();
+
+    if (call != null) {
+      call.setEndNanos(endNanos);
+      tracer.onEnd(call);
+    }
+
+    long durationNanos = endNanos - beginNanos;
+
+    if (durationNanos < slowThresholdNanos)
+      return;
+
+    StringBuilder message = new StringBuilder()
+      .append("Slow ").append(kind == ECallKind.INVOCATION ? "invocation" : "completion")
+      .append(" of /").append(alias)
+      .append(" (").append(commandName).append(")")
+      .append(" by ").append(sender.getName())
+      .append(" took ").append(String.format("%.2f", durationNanos / 1_000_000.0)).append("ms")
+      .append(", arguments: ").append(args.length)
+      .append(", digest: ").append(Long.toHexString(call != null ? call.getArgumentDigest() : CommandCall.digest(args)));
+
+    if (stackSample != null) {
+      message.append("\nServer thread while running:");
+
+      for (StackTraceElement element : stackSample)
+        message.append("\n\tat ").append(element);
+    }
+
+    logger.warning(message.toString());
+  }
+
+  /**
+   * Stops watching the server thread for a call which continues on another thread, from where it's ended
+   */
+  public void detach(long beginNanos) {
+    if (watchdog != null && mainThreadCall.beginNanos == beginNanos && mainThreadCall.thread == Thread.currentThread())
+      mainThreadCall.exit();
+  }
+
+  /**
+   * Stops the watchdog, if any, as is to be done when disabling
+   */
+  public void shutdown() {
+    if (watchdog != null)
+      watchdog.shutdownNow();
+  }
+
+  private void pollMainThread() {
+    MainThreadCall call = this.mainThreadCall;
+    long beginNanos = call.beginNanos;
+    Thread thread = call.thread;
+
+    if (beginNanos == 0 || thread == null || call.sampledBeginNanos == beginNanos)
+      return;
+
+    if (System.nanoTime() - beginNanos < slowThresholdNanos)
+      return;
+
+    StackTraceElement[] stackSample = thread.getStackTrace();
+
+    // The call may have ended while sampling, in which case the sample belongs to something else
+    if (call.beginNanos != beginNanos)
+      return;
+
+    call.stackSample = stackSample;
+    call.sampledBeginNanos = beginNanos;
+  }
+
+  private static class MainThreadCall {
+
+    private volatile @Nullable Thread thread;
+    private volatile long beginNanos;
+    private volatile long sampledBeginNanos;
+    private volatile @Nullable StackTraceElement[] stackSample;
+
+    private void enter(Thread thread, long beginNanos) {
+      this.thread = thread;
+      this.beginNanos = beginNanos;
+    }
+
+    private @Nullable StackTraceElement[] exit() {
+      long beginNanos = this.beginNanos;
+      this.beginNanos = 0;
+
+      StackTraceElement[] result = sampledBeginNanos == beginNanos ? stackSample : null;
+      this.stackSample = null;
+      return result;
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.metrics;
+
+import me.blvckbytes.bukkitcommands.error.EErrorType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of the invocations and completions of either a whole command or a single alias
+ */
+public class InvocationMetrics {
+
+  private static final EErrorType[] ERROR_TYPES = EErrorType.values();
+
+  private final LongAdder invocations, completions, internalErrors;
+  private final AtomicLongArray errorCounts;
+  private final LatencyHistogram invocationLatency, completionLatency;
+
+  public InvocationMetrics() {
+    this.invocations = new LongAdder();
+    this.completions = new LongAdder();
+    this.internalErrors = new LongAdder();
+    this.errorCounts = new AtomicLongArray(ERROR_TYPES.length);
+    this.invocationLatency = new LatencyHistogram();
+    this.completionLatency = new LatencyHistogram();
+  }
+
+  void recordInvocation(long nanos) {
+    invocations.increment();
+    invocationLatency.record(nanos);
+  }
+
+  void recordCompletion(long nanos) {
+    completions.increment();
+    completionLatency.record(nanos);
+  }
+
+  void recordError(EErrorType errorType) {
+    errorCounts.incrementAndGet(errorType.ordinal());
+  }
+
+  void recordInternalError() {
+    internalErrors.increment();
+  }
+
+  public long getInvocationCount() {
+    return invocations.sum();
+  }
+
+  public long getCompletionCount() {
+    return completions.sum();
+  }
+
+  public long getInternalErrorCount() {
+    return internalErrors.sum();
+  }
+
+  public long getErrorCount(EErrorType errorType) {
+    return errorCounts.get(errorType.ordinal());
+  }
+
+  public Map<EErrorType, Long> getErrorCounts() {
+    Map<EErrorType, Long> result = new EnumMap<>(EErrorType.class);
+
+    for (EErrorType errorType : ERROR_TYPES)
+      result.put(errorType, errorCounts.get(errorType.ordinal()));
+
+    return result;
+  }
+
+  public LatencyHistogram getInvocationLatency() {
+    return invocationLatency;
+  }
+
+  public LatencyHistogram getCompletionLatency() {
+    return completionLatency;
+  }
+
+  public void reset() {
+    invocations.reset();
+    completions.reset();
+    internalErrors.reset();
+
+    for (int index = 0; index < errorCounts.length(); index++)
+      errorCounts.set(index, 0);
+
+    invocationLatency.reset();
+    completionLatency.reset();
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of nanosecond latencies with log-linear buckets, as popularized by HdrHistogram:
+ * each power of two is split into 2^PRECISION_BITS linear sub-buckets, which bounds the relative error
+ * of any reported value to about 3%, at a fixed footprint and with a single atomic increment per sample.
+ */
+public class LatencyHistogram {
+
+  private static final int PRECISION_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << PRECISION_BITS;
+  private static final int BUCKET_COUNT = (64 - PRECISION_BITS) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray counts;
+  private final AtomicLong totalCount, totalNanos, maxNanos;
+
+  public LatencyHistogram() {
+    this.counts = new AtomicLongArray(BUCKET_COUNT);
+    this.totalCount = new AtomicLong();
+    this.totalNanos = new AtomicLong();
+    this.maxNanos = new AtomicLong();
+  }
+
+  public void record(long nanos) {
+    if (nanos < 0)
+      nanos = 0;
+
+    counts.incrementAndGet(indexOf(nanos));
+    totalCount.incrementAndGet();
+    totalNanos.addAndGet(nanos);
+
+    long max;
+    while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos));
+  }
+
+  /**
+   * Adds all samples of another histogram to this one, as when combining histograms kept per thread
+   */
+  public void add(LatencyHistogram other) {
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      long count = other.counts.get(index);
+
+      if (count != 0)
+        counts.addAndGet(index, count);
+    }
+
+    totalCount.addAndGet(other.totalCount.get());
+    totalNanos.addAndGet(other.totalNanos.get());
+
+    long otherMax = other.maxNanos.get();
+    long max;
+    while (otherMax > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, otherMax));
+  }
+
+  public long getCount() {
+    return totalCount.get();
+  }
+
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  public double getMeanNanos() {
+    long count = totalCount.get();
+    return count == 0 ? 0 : totalNanos.get() / (double) count;
+  }
+
+  /**
+   * @param percentile Percentile in the range of [0, 100]
+   * @return Upper bound of the bucket containing the requested percentile, in nanoseconds
+   */
+  public long getValueAtPercentile(double percentile) {
+    long[] snapshot = new long[BUCKET_COUNT];
+    long count = 0;
+
+    for (int index = 0; index < BUCKET_COUNT; index++)
+      count += (snapshot[index] = counts.get(index));
+
+    if (count == 0)
+      return 0;
+
+    long targetCount = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+    long seenCount = 0;
+
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      seenCount += snapshot[index];
+
+      if (seenCount >= targetCount)
+        return Math.min(upperBoundOf(index), maxNanos.get());
+    }
+
+    return maxNanos.get();
+  }
+
+  public void reset() {
+    for (int index = 0; index < BUCKET_COUNT; index++)
+      counts.set(index, 0);
+
+    totalCount.set(0);
+    totalNanos.set(0);
+    maxNanos.set(0);
+  }
+
+  static int indexOf(long value) {
+    int mostSignificantBit = 63 - Long.numberOfLeadingZeros(value | 1);
+
+    // Small values are tracked exactly
+    if (mostSignificantBit < PRECISION_BITS)
+      return (int) value;
+
+    int bucket = mostSignificantBit - PRECISION_BITS + 1;
+    int subBucket = (int) (value >>> (mostSignificantBit - PRECISION_BITS)) - SUB_BUCKET_COUNT;
+
+    return bucket * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  static long upperBoundOf(int index) {
+    if (index < SUB_BUCKET_COUNT)
+      return index;
+
+    int bucket = index / SUB_BUCKET_COUNT;
+    long subBucket = (index % SUB_BUCKET_COUNT) + SUB_BUCKET_COUNT;
+
+    return ((subBucket + 1) << (bucket - 1)) - 1;
+  }
+}
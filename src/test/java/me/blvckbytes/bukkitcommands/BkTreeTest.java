@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BkTreeTest {
+
+  private static final long NO_TIMEOUT_NANOS = Long.MAX_VALUE / 2;
+
+  private static final List<String> MATERIALS = Arrays.asList("STONE", "STONES", "STORE", "SPONGE", "DIRT", "GRASS");
+
+  @Test
+  public void findsSimilarNamesClosestFirst() {
+    BkTree tree = new BkTree(MATERIALS);
+
+    // STONE is a single insertion away, while STONES and STORE are two edits away
+    assertEquals(Arrays.asList("STONE", "STONES", "STORE"), tree.search("ston", 2, 10, NO_TIMEOUT_NANOS));
+    assertEquals(Collections.singletonList("STONE"), tree.search("ston", 1, 10, NO_TIMEOUT_NANOS));
+    assertEquals(Collections.emptyList(), tree.search("bedrock", 2, 10, NO_TIMEOUT_NANOS));
+  }
+
+  @Test
+  public void comparesCaseInsensitively() {
+    BkTree tree = new BkTree(MATERIALS);
+
+    assertEquals(Collections.singletonList("DIRT"), tree.search("dirt", 0, 10, NO_TIMEOUT_NANOS));
+    assertEquals("GRASS", tree.suggest("grss", 1).get(0));
+  }
+
+  @Test
+  public void honorsTheResultLimit() {
+    BkTree tree = new BkTree(MATERIALS);
+
+    assertEquals(Collections.singletonList("STONE"), tree.search("ston", 2, 1, NO_TIMEOUT_NANOS));
+    assertEquals(Collections.emptyList(), tree.search("ston", 2, 0, NO_TIMEOUT_NANOS));
+    assertEquals(Collections.emptyList(), new BkTree(Collections.emptyList()).suggest("ston", 3));
+  }
+
+  @Test
+  public void keepsNamesDifferingInCaseOnlyOnce() {
+    assertEquals(1, new BkTree(Arrays.asList("Stone", "STONE", "stone")).size());
+  }
+
+  @Test
+  public void addsNamesWithoutChangingTheOriginal() {
+    BkTree tree = new BkTree(MATERIALS);
+    BkTree extended = tree.with("BEDROCK");
+
+    assertEquals(MATERIALS.size(), tree.size());
+    assertEquals(MATERIALS.size() + 1, extended.size());
+
+    assertEquals(Collections.emptyList(), tree.search("bedrock", 0, 10, NO_TIMEOUT_NANOS));
+    assertEquals(Collections.singletonList("BEDROCK"), extended.search("bedrock", 0, 10, NO_TIMEOUT_NANOS));
+
+    assertSame(extended, extended.with("BEDROCK"));
+  }
+
+  @Test
+  public void replacesTheSpellingOfNamesDifferingInCaseOnly() {
+    BkTree tree = new BkTree(MATERIALS).with("Stone");
+
+    assertEquals(MATERIALS.size(), tree.size());
+    assertEquals(Collections.singletonList("Stone"), tree.search("STONE", 0, 10, NO_TIMEOUT_NANOS));
+  }
+
+  @Test
+  public void removesNamesWithoutChangingTheOriginal() {
+    BkTree tree = new BkTree(MATERIALS);
+    BkTree reduced = tree.without("stone");
+
+    assertEquals(MATERIALS.size(), tree.size());
+    assertEquals(MATERIALS.size() - 1, reduced.size());
+
+    assertEquals(Collections.singletonList("STONE"), tree.search("stone", 0, 10, NO_TIMEOUT_NANOS));
+    assertEquals(Collections.emptyList(), reduced.search("stone", 0, 10, NO_TIMEOUT_NANOS));
+
+    // Removed names still route searches towards their descendants
+    assertEquals(Arrays.asList("STONES", "STORE"), reduced.search("ston", 2, 10, NO_TIMEOUT_NANOS));
+
+    assertSame(reduced, reduced.without("stone"));
+    assertSame(reduced, reduced.without("bedrock"));
+  }
+
+  @Test
+  public void readdsRemovedNames() {
+    BkTree tree = new BkTree(MATERIALS).without("STONE").with("STONE");
+
+    assertEquals(MATERIALS.size(), tree.size());
+    assertEquals(Collections.singletonList("STONE"), tree.search("stone", 0, 10, NO_TIMEOUT_NANOS));
+  }
+
+  @Test
+  public void staysConsistentAcrossManyRemovals() {
+    List<String> names = new ArrayList<>();
+
+    for (int index = 0; index < 200; index++)
+      names.add("player" + index);
+
+    BkTree tree = new BkTree(names);
+
+    // Removing most names repeatedly triggers rebuilds, which must not lose any remaining name
+    for (int index = 0; index < 190; index++)
+      tree = tree.without("player" + index);
+
+    assertEquals(10, tree.size());
+
+    for (int index = 0; index < 200; index++) {
+      String name = "player" + index;
+      List<String> result = tree.search(name, 0, 10, NO_TIMEOUT_NANOS);
+
+      if (index < 190)
+        assertTrue(result.isEmpty(), name);
+      else
+        assertEquals(Collections.singletonList(name), result);
+    }
+  }
+}
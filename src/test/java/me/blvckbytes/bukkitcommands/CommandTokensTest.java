@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandTokensTest {
+
+  private static void assertTokens(CommandTokens tokens, String... expected) {
+    assertEquals(expected.length, tokens.size());
+
+    for (int index = 0; index < expected.length; index++)
+      assertEquals(expected[index], tokens.getString(index));
+  }
+
+  @Test
+  public void splitsAtRunsOfSpaces() {
+    assertTokens(CommandTokens.tokenize("give  Steve stone   64"), "give", "Steve", "stone", "64");
+    assertTokens(CommandTokens.tokenize("   "));
+    assertTokens(CommandTokens.tokenize(""));
+  }
+
+  @Test
+  public void keepsQuotedSpacesWithinOneToken() {
+    CommandTokens tokens = CommandTokens.tokenize("msg \"Hello there\" 'single quoted' plain");
+
+    assertTokens(tokens, "msg", "Hello there", "single quoted", "plain");
+    assertFalse(tokens.isQuoted(0));
+    assertTrue(tokens.isQuoted(1));
+    assertTrue(tokens.isQuoted(2));
+    assertFalse(tokens.isQuoted(3));
+  }
+
+  @Test
+  public void onlyOpensQuotesAtTheStartOfAToken() {
+    assertTokens(CommandTokens.tokenize("it's \"a b\""), "it's", "a b");
+    assertTokens(CommandTokens.tokenize("\"it's\""), "it's");
+  }
+
+  @Test
+  public void resolvesEscapes() {
+    assertTokens(CommandTokens.tokenize("a\\ b \"say \\\"hi\\\"\" c\\\\d"), "a b", "say \"hi\"", "c\\d");
+  }
+
+  @Test
+  public void extendsUnterminatedQuotesToTheEnd() {
+    CommandTokens tokens = CommandTokens.tokenize("msg \"Hello there ");
+
+    assertTokens(tokens, "msg", "Hello there ");
+    assertTrue(tokens.isQuoted(1));
+    assertTrue(tokens.endsWithinToken());
+  }
+
+  @Test
+  public void tellsWhetherTheLastTokenIsStillBeingTyped() {
+    assertTrue(CommandTokens.tokenize("give Ste").endsWithinToken());
+    assertFalse(CommandTokens.tokenize("give Steve ").endsWithinToken());
+    assertFalse(CommandTokens.tokenize("give \"Steve\" ").endsWithinToken());
+    assertTrue(CommandTokens.tokenize("give \"Steve\"").endsWithinToken());
+  }
+
+  @Test
+  public void rejoinsArgumentsSplitByTheServer() {
+    // The server splits at every single space, so empty arguments stand for runs of spaces
+    CommandTokens tokens = CommandTokens.tokenize(new String[] { "msg", "\"Hello", "", "there\"", "", "end" });
+
+    assertTokens(tokens, "msg", "Hello  there", "end");
+    assertTrue(tokens.endsWithinToken());
+  }
+
+  @Test
+  public void exposesTheRemainderAsTyped() {
+    CommandTokens tokens = CommandTokens.tokenize("ban Steve \"griefing\"  the spawn  ");
+
+    assertEquals("\"griefing\"  the spawn", tokens.getRemaining(2).toString());
+    assertEquals("Steve \"griefing\"  the spawn", tokens.getRemaining(1).toString());
+  }
+
+  @Test
+  public void sharesStringsAcrossCalls() {
+    CommandTokens tokens = CommandTokens.tokenize("a b");
+
+    assertSame(tokens.toStringArray(), tokens.toStringArray());
+    assertSame(tokens.getString(1), tokens.toStringArray()[1]);
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NumberParserTest {
+
+  private static final String[] VALID_DECIMALS = {
+    "0", "1", "-1", "+1", "0.1", "-2.5", ".5", "5.", "007.25", "123456789.123456789",
+    "1e10", "1E-10", "-2.5e-3", "6.02214076e23", "9007199254740993", "1e22", "1e23",
+    "4.9e-324", "1.7976931348623157e308", "0.000000000000000000001", "3.4028235e38"
+  };
+
+  private static final String[] MALFORMED_DECIMALS = {
+    "", "-", "+", ".", "1.2.3", "1e", "1e+", "1e-", "1e1.5", "1a", "a1", " 1", "1 ",
+    "0x10", "NaN", "Infinity", "--1", "1e400", "-1e400"
+  };
+
+  @Test
+  public void parsesWholeNumbersAcrossTheWholeRange() {
+    ParseResult<?> result = new ParseResult<>();
+
+    for (long value : new long[] { 0, 1, -1, 42, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE }) {
+      assertTrue(NumberParser.parseLong(String.valueOf(value), Long.MIN_VALUE, Long.MAX_VALUE, result));
+      assertEquals(value, result.getLongValue());
+    }
+
+    assertTrue(NumberParser.parseLong("+7", Long.MIN_VALUE, Long.MAX_VALUE, result));
+    assertEquals(7, result.getLongValue());
+
+    assertTrue(NumberParser.parseLong("-0", Long.MIN_VALUE, Long.MAX_VALUE, result));
+    assertEquals(0, result.getLongValue());
+  }
+
+  @Test
+  public void rejectsOverflowingAndMalformedWholeNumbers() {
+    ParseResult<?> result = new ParseResult<>();
+
+    String[] inputs = {
+      "9223372036854775808", "-9223372036854775809", "99999999999999999999",
+      "", "-", "+", "1a", " 1", "1 ", "1.0", "1e3", "--1", "1_000"
+    };
+
+    for (String input : inputs)
+      assertFalse(NumberParser.parseLong(input, Long.MIN_VALUE, Long.MAX_VALUE, result), input);
+  }
+
+  @Test
+  public void honorsTheRangeOfIntegers() {
+    ParseResult<?> result = new ParseResult<>();
+
+    assertTrue(NumberParser.parseInt("2147483647", result));
+    assertEquals(Integer.MAX_VALUE, result.getIntValue());
+
+    assertTrue(NumberParser.parseInt("-2147483648", result));
+    assertEquals(Integer.MIN_VALUE, result.getIntValue());
+
+    assertFalse(NumberParser.parseInt("2147483648", result));
+    assertFalse(NumberParser.parseInt("-2147483649", result));
+    assertFalse(NumberParser.parseLong("11", 0, 10, result));
+  }
+
+  @Test
+  public void leavesTheOutputUntouchedOnFailure() {
+    ParseResult<?> result = new ParseResult<>().succeedLong(7);
+
+    assertFalse(NumberParser.parseLong("seven", Long.MIN_VALUE, Long.MAX_VALUE, result));
+    assertEquals(7, result.getLongValue());
+
+    result.succeedDouble(.5);
+
+    assertFalse(NumberParser.parseDouble("half", result));
+    assertEquals(.5, result.getDoubleValue());
+  }
+
+  @Test
+  public void parsesDoublesLikeTheJdk() {
+    ParseResult<?> result = new ParseResult<>();
+
+    for (String input : VALID_DECIMALS) {
+      assertTrue(NumberParser.parseDouble(input, result), input);
+      assertEquals(Double.parseDouble(input), result.getDoubleValue());
+    }
+  }
+
+  @Test
+  public void parsesFloatsLikeTheJdk() {
+    ParseResult<?> result = new ParseResult<>();
+
+    for (String input : VALID_DECIMALS) {
+      float expected = Float.parseFloat(input);
+
+      // Values beyond the range of floats are rejected rather than turned into infinity
+      if (Float.isInfinite(expected)) {
+        assertFalse(NumberParser.parseFloat(input, result), input);
+        continue;
+      }
+
+      assertTrue(NumberParser.parseFloat(input, result), input);
+      assertEquals(expected, (float) result.getDoubleValue());
+    }
+  }
+
+  @Test
+  public void rejectsMalformedAndNonFiniteDecimals() {
+    ParseResult<?> result = new ParseResult<>();
+
+    for (String input : MALFORMED_DECIMALS) {
+      assertFalse(NumberParser.parseDouble(input, result), input);
+      assertFalse(NumberParser.parseFloat(input, result), input);
+    }
+  }
+}
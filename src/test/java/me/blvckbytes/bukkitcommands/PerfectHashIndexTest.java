@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerfectHashIndexTest {
+
+  @Test
+  public void findsEveryEntryCaseInsensitively() {
+    Map<String, String> entries = new LinkedHashMap<>();
+
+    for (int index = 0; index < 5000; index++)
+      entries.put("Name_" + index, "value" + index);
+
+    PerfectHashIndex<String> index = PerfectHashIndex.of(entries);
+
+    assertEquals(entries.size(), index.size());
+
+    for (Map.Entry<String, String> entry : entries.entrySet()) {
+      assertEquals(entry.getValue(), index.get(entry.getKey()));
+      assertEquals(entry.getValue(), index.get(entry.getKey().toUpperCase(Locale.ROOT)));
+      assertEquals(entry.getValue(), index.get(new StringBuilder(entry.getKey().toLowerCase(Locale.ROOT))));
+    }
+  }
+
+  @Test
+  public void rejectsUnknownNames() {
+    Map<String, String> entries = new LinkedHashMap<>();
+
+    for (int index = 0; index < 100; index++)
+      entries.put("Name_" + index, "value" + index);
+
+    PerfectHashIndex<String> index = PerfectHashIndex.of(entries);
+
+    // Every unknown name still lands on some slot, which has to be rejected by comparison
+    for (int unknown = 100; unknown < 1000; unknown++)
+      assertNull(index.get("Name_" + unknown));
+
+    assertNull(index.get(""));
+    assertNull(index.get("Name_"));
+    assertNull(index.get("Name_10 "));
+  }
+
+  @Test
+  public void keepsTheFirstOfNamesDifferingInCaseOnly() {
+    Map<String, String> entries = new LinkedHashMap<>();
+    entries.put("Stone", "first");
+    entries.put("STONE", "second");
+
+    PerfectHashIndex<String> index = PerfectHashIndex.of(entries);
+
+    assertEquals(1, index.size());
+    assertEquals("first", index.get("stone"));
+  }
+
+  @Test
+  public void handlesEmptyAndSingleEntries() {
+    PerfectHashIndex<String> empty = PerfectHashIndex.of(Collections.emptyMap());
+
+    assertEquals(0, empty.size());
+    assertNull(empty.get("anything"));
+
+    PerfectHashIndex<String> single = PerfectHashIndex.of(Collections.singletonMap("only", "value"));
+
+    assertEquals("value", single.get("ONLY"));
+    assertNull(single.get("onlx"));
+  }
+}
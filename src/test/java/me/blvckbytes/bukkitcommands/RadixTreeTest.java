@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RadixTreeTest {
+
+  @Test
+  public void looksUpNamesCaseInsensitively() {
+    RadixTree<String> tree = new RadixTree<>();
+
+    assertNull(tree.put("Give", "v1"));
+    assertNull(tree.put("gift", "v2"));
+
+    assertEquals("v1", tree.get("give"));
+    assertEquals("v1", tree.get("GIVE"));
+    assertEquals("v2", tree.get("Gift"));
+    assertEquals(2, tree.size());
+  }
+
+  @Test
+  public void replacesValuesOfNamesDifferingInCaseOnly() {
+    RadixTree<String> tree = new RadixTree<>();
+
+    assertNull(tree.put("reset", "v1"));
+    assertEquals("v1", tree.put("RESET", "v2"));
+
+    assertEquals("v2", tree.get("reset"));
+    assertEquals(1, tree.size());
+  }
+
+  @Test
+  public void doesNotMatchPrefixesOrExtensionsOfNames() {
+    RadixTree<String> tree = new RadixTree<>();
+
+    tree.put("give", "v1");
+    tree.put("gift", "v2");
+    tree.put("giveall", "v3");
+
+    assertNull(tree.get("gi"));
+    assertNull(tree.get("giv"));
+    assertNull(tree.get("gifts"));
+    assertNull(tree.get("take"));
+    assertNull(tree.get(""));
+
+    assertEquals("v1", tree.get("give"));
+    assertEquals("v3", tree.get("giveAll"));
+  }
+
+  @Test
+  public void listsOriginalNamesByPrefixInFoldedOrder() {
+    RadixTree<String> tree = new RadixTree<>();
+
+    for (String name : Arrays.asList("Stone", "stairs", "STICK", "dirt", "st"))
+      tree.put(name, name);
+
+    assertEquals(Arrays.asList("st", "stairs", "STICK", "Stone"), tree.getNamesStartingWith("ST", Integer.MAX_VALUE));
+    assertEquals(Collections.singletonList("STICK"), tree.getNamesStartingWith("sti", Integer.MAX_VALUE));
+    assertEquals(Collections.singletonList("Stone"), tree.getNamesStartingWith("stone", Integer.MAX_VALUE));
+    assertEquals(Collections.emptyList(), tree.getNamesStartingWith("stones", Integer.MAX_VALUE));
+    assertEquals(Collections.emptyList(), tree.getNamesStartingWith("x", Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void honorsTheLimitOfListedNames() {
+    RadixTree<String> tree = new RadixTree<>();
+
+    for (String name : Arrays.asList("a", "ab", "abc", "abd", "b"))
+      tree.put(name, name);
+
+    assertEquals(Arrays.asList("a", "ab"), tree.getNamesStartingWith("a", 2));
+    assertEquals(5, tree.getNamesStartingWith("", Integer.MAX_VALUE).size());
+  }
+
+  @Test
+  public void rejectsEmptyNames() {
+    assertThrows(IllegalArgumentException.class, () -> new RadixTree<String>().put("", "value"));
+  }
+}
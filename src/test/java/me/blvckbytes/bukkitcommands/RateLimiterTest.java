@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+  private static final long ONE_MINUTE_MILLIS = 60_000;
+
+  @Test
+  public void grantsExactlyTheBurstToANewKey() {
+    RateLimiter limiter = new RateLimiter(new RateLimit(3, ONE_MINUTE_MILLIS, null));
+
+    assertTrue(limiter.tryAcquire("a"));
+    assertTrue(limiter.tryAcquire("a"));
+    assertTrue(limiter.tryAcquire("a"));
+    assertFalse(limiter.tryAcquire("a"));
+  }
+
+  @Test
+  public void keepsSeparateBucketsPerKey() {
+    RateLimiter limiter = new RateLimiter(new RateLimit(1, ONE_MINUTE_MILLIS, null));
+
+    assertTrue(limiter.tryAcquire("a"));
+    assertFalse(limiter.tryAcquire("a"));
+    assertTrue(limiter.tryAcquire("b"));
+    assertEquals(2, limiter.getBucketCount());
+  }
+
+  @Test
+  public void reportsTheTimeUntilTheNextToken() {
+    RateLimiter limiter = new RateLimiter(new RateLimit(1, ONE_MINUTE_MILLIS, null));
+
+    assertEquals(0, limiter.getRetryAfterNanos("a"));
+    assertTrue(limiter.tryAcquire("a"));
+
+    long retryAfterNanos = limiter.getRetryAfterNanos("a");
+
+    assertTrue(retryAfterNanos > 0);
+    assertTrue(retryAfterNanos <= TimeUnit.MILLISECONDS.toNanos(ONE_MINUTE_MILLIS));
+  }
+
+  @Test
+  public void refillsAfterTheInterval() throws InterruptedException {
+    RateLimiter limiter = new RateLimiter(new RateLimit(1, 20, null));
+
+    assertTrue(limiter.tryAcquire("a"));
+    assertFalse(limiter.tryAcquire("a"));
+
+    Thread.sleep(50);
+
+    assertTrue(limiter.tryAcquire("a"));
+  }
+
+  @Test
+  public void resetsKeys() {
+    RateLimiter limiter = new RateLimiter(new RateLimit(1, ONE_MINUTE_MILLIS, null));
+
+    assertTrue(limiter.tryAcquire("a"));
+    assertTrue(limiter.tryAcquire("b"));
+
+    limiter.reset("a");
+
+    assertTrue(limiter.tryAcquire("a"));
+    assertFalse(limiter.tryAcquire("b"));
+
+    limiter.resetAll();
+
+    assertEquals(0, limiter.getBucketCount());
+    assertTrue(limiter.tryAcquire("b"));
+  }
+
+  @Test
+  public void neverGrantsMoreThanTheBurstUnderContention() throws InterruptedException {
+    int burst = 100, threadCount = 8, attemptsPerThread = 1000;
+
+    RateLimiter limiter = new RateLimiter(new RateLimit(burst, ONE_MINUTE_MILLIS, null));
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger grantedCount = new AtomicInteger();
+
+    for (int thread = 0; thread < threadCount; thread++) {
+      executor.execute(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+
+        for (int attempt = 0; attempt < attemptsPerThread; attempt++) {
+          if (limiter.tryAcquire("shared"))
+            grantedCount.incrementAndGet();
+        }
+      });
+    }
+
+    start.countDown();
+    executor.shutdown();
+
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(burst, grantedCount.get());
+  }
+
+  @Test
+  public void rejectsInvalidLimits() {
+    assertThrows(IllegalArgumentException.class, () -> new RateLimit(0, ONE_MINUTE_MILLIS, null));
+    assertThrows(IllegalArgumentException.class, () -> new RateLimit(1, 0, null));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void tracksSmallValuesExactly() {
+    for (long value = 0; value < 32; value++)
+      assertEquals(value, LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(value)));
+  }
+
+  @Test
+  public void boundsTheRelativeErrorOfBuckets() {
+    for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+      long upperBound = LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(value));
+
+      assertTrue(upperBound >= value, "upper bound below " + value);
+      assertTrue(upperBound - value <= value / 32, "upper bound too far above " + value);
+    }
+  }
+
+  @Test
+  public void reportsPercentilesWithinTheRelativeError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    for (long nanos = 1; nanos <= 1000; nanos++)
+      histogram.record(nanos * 1000);
+
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1_000_000, histogram.getMaxNanos());
+    assertEquals(500_500, histogram.getMeanNanos(), .001);
+
+    assertWithinError(500_000, histogram.getValueAtPercentile(50));
+    assertWithinError(990_000, histogram.getValueAtPercentile(99));
+    assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+    assertWithinError(1000, histogram.getValueAtPercentile(0));
+  }
+
+  @Test
+  public void handlesEmptyHistogramsAndNegativeSamples() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertEquals(0, histogram.getValueAtPercentile(50));
+    assertEquals(0, histogram.getMeanNanos(), 0);
+
+    histogram.record(-5);
+
+    assertEquals(1, histogram.getCount());
+    assertEquals(0, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void combinesAndResetsHistograms() {
+    LatencyHistogram first = new LatencyHistogram();
+    LatencyHistogram second = new LatencyHistogram();
+
+    first.record(10);
+    second.record(20);
+    second.record(5_000);
+
+    first.add(second);
+
+    assertEquals(3, first.getCount());
+    assertEquals(5_000, first.getMaxNanos());
+    assertEquals(20, first.getValueAtPercentile(50));
+
+    first.reset();
+
+    assertEquals(0, first.getCount());
+    assertEquals(0, first.getMaxNanos());
+    assertEquals(0, first.getValueAtPercentile(100));
+  }
+
+  private static void assertWithinError(long expected, long actual) {
+    assertTrue(Math.abs(actual - expected) <= expected / 32, "expected about " + expected + " but was " + actual);
+  }
+}
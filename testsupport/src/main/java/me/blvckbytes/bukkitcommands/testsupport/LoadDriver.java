@@ -0,0 +1,273 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.testsupport;
+
+import me.blvckbytes.bukkitcommands.BukkitCommand;
+import me.blvckbytes.bukkitcommands.metrics.ECallKind;
+import me.blvckbytes.bukkitcommands.metrics.LatencyHistogram;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a command with simulated traffic outside of a server, in order to estimate its capacity. Each
+ * thread issues calls back to back, picking a sender uniformly at random for each call, and measures
+ * latencies into a histogram of its own. Allocations are measured per thread across the whole measuring
+ * period, which includes the little the driver itself allocates, as sampling per call would distort them.
+ */
+public class LoadDriver {
+
+  private static final long TICK_INTERVAL_MILLIS = 50;
+
+  private static final @Nullable com.sun.management.ThreadMXBean ALLOCATION_BEAN = loadAllocationBean();
+
+  private final BukkitCommand command;
+  private final CommandSender[] senders;
+  private final ILoadScenario scenario;
+  private final @Nullable StandInScheduler scheduler;
+  private final int threadCount;
+  private final long warmupMillis, durationMillis, maxCalls, seed;
+
+  LoadDriver(
+    BukkitCommand command,
+    CommandSender[] senders,
+    ILoadScenario scenario,
+    @Nullable StandInScheduler scheduler,
+    int threadCount,
+    long warmupMillis,
+    long durationMillis,
+    long maxCalls,
+    long seed
+  ) {
+    this.command = command;
+    this.senders = senders;
+    this.scenario = scenario;
+    this.scheduler = scheduler;
+    this.threadCount = threadCount;
+    this.warmupMillis = warmupMillis;
+    this.durationMillis = durationMillis;
+    this.maxCalls = maxCalls;
+    this.seed = seed;
+  }
+
+  /**
+   * Runs the warmup as well as the measurement and blocks until all threads completed
+   */
+  public LoadReport run() throws InterruptedException {
+    long callsPerThread = Math.max(1, maxCalls / threadCount);
+    CountDownLatch startSignal = new CountDownLatch(1);
+    Worker[] workers = new Worker[threadCount];
+    Thread[] threads = new Thread[threadCount];
+
+    for (int index = 0; index < threadCount; index++) {
+      workers[index] = new Worker(index, callsPerThread, startSignal);
+      threads[index] = new Thread(workers[index], "LoadDriver-" + index);
+      threads[index].setDaemon(true);
+      threads[index].start();
+    }
+
+    ScheduledExecutorService ticker = null;
+
+    if (scheduler != null) {
+      ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LoadDriver-Ticker");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+      ticker.scheduleAtFixedRate(scheduler::tick, TICK_INTERVAL_MILLIS, TICK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    long measureFromNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(warmupMillis);
+    long measureUntilNanos = measureFromNanos + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+    for (Worker worker : workers)
+      worker.setPeriod(measureFromNanos, measureUntilNanos);
+
+    startSignal.countDown();
+
+    try {
+      for (Thread thread : threads)
+        thread.join();
+    } finally {
+      if (ticker != null)
+        ticker.shutdownNow();
+    }
+
+    LatencyHistogram invocationLatencies = new LatencyHistogram();
+    LatencyHistogram completionLatencies = new LatencyHistogram();
+    long lastEndNanos = measureFromNanos, failureCount = 0, allocatedBytes = 0;
+    Throwable firstFailure = null;
+
+    for (Worker worker : workers) {
+      invocationLatencies.add(worker.invocationLatencies);
+      completionLatencies.add(worker.completionLatencies);
+      lastEndNanos = Math.max(lastEndNanos, worker.endNanos);
+      failureCount += worker.failureCount;
+
+      if (firstFailure == null)
+        firstFailure = worker.firstFailure;
+
+      if (worker.allocatedBytes < 0 || allocatedBytes < 0)
+        allocatedBytes = -1;
+      else
+        allocatedBytes += worker.allocatedBytes;
+    }
+
+    return new LoadReport(
+      threadCount,
+      senders.length,
+      lastEndNanos - measureFromNanos,
+      invocationLatencies,
+      completionLatencies,
+      failureCount,
+      firstFailure,
+      allocatedBytes
+    );
+  }
+
+  //=========================================================================//
+  //                                Internals                                //
+  //=========================================================================//
+
+  private static @Nullable com.sun.management.ThreadMXBean loadAllocationBean() {
+    try {
+      ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+      if (!(bean instanceof com.sun.management.ThreadMXBean))
+        return null;
+
+      com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+
+      if (!allocationBean.isThreadAllocatedMemorySupported())
+        return null;
+
+      allocationBean.setThreadAllocatedMemoryEnabled(true);
+      return allocationBean;
+    } catch (LinkageError | UnsupportedOperationException e) {
+      // Not a HotSpot-based JVM
+      return null;
+    }
+  }
+
+  private static long getAllocatedBytes() {
+    return ALLOCATION_BEAN == null ? -1 : ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private class Worker implements Runnable {
+
+    private final int index;
+    private final long maxCalls;
+    private final CountDownLatch startSignal;
+    private final LatencyHistogram invocationLatencies, completionLatencies;
+
+    // Written before the start signal, read after it
+    private long measureFromNanos, measureUntilNanos;
+
+    // Written by the worker, read after it has been joined
+    private long endNanos, failureCount, allocatedBytes;
+    private @Nullable Throwable firstFailure;
+
+    private Worker(int index, long maxCalls, CountDownLatch startSignal) {
+      this.index = index;
+      this.maxCalls = maxCalls;
+      this.startSignal = startSignal;
+      this.invocationLatencies = new LatencyHistogram();
+      this.completionLatencies = new LatencyHistogram();
+    }
+
+    private void setPeriod(long measureFromNanos, long measureUntilNanos) {
+      this.measureFromNanos = measureFromNanos;
+      this.measureUntilNanos = measureUntilNanos;
+    }
+
+    @Override
+    public void run() {
+      try {
+        startSignal.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      // Golden ratio increment, such that the streams of neighbouring threads don't correlate
+      SplittableRandom random = new SplittableRandom(seed + index * 0x9E3779B97F4A7C15L);
+      long callIndex = 0;
+
+      while (System.nanoTime() < measureFromNanos)
+        issue(callIndex++, random, false);
+
+      long allocatedBefore = getAllocatedBytes();
+      long measuredCalls = 0;
+      long nowNanos = System.nanoTime();
+
+      while (measuredCalls < maxCalls && nowNanos < measureUntilNanos) {
+        nowNanos = issue(callIndex++, random, true);
+        ++measuredCalls;
+      }
+
+      this.endNanos = nowNanos;
+      this.allocatedBytes = allocatedBefore < 0 ? -1 : getAllocatedBytes() - allocatedBefore;
+    }
+
+    /**
+     * @return Timestamp at which the call returned
+     */
+    private long issue(long callIndex, SplittableRandom random, boolean measure) {
+      CommandSender sender = senders[random.nextInt(senders.length)];
+      LoadStep step = scenario.nextStep(callIndex, sender, random);
+      boolean isInvocation = step.getKind() == ECallKind.INVOCATION;
+      long beginNanos = System.nanoTime();
+
+      try {
+        if (isInvocation)
+          command.execute(sender, step.getAlias(), step.getArgs());
+        else
+          command.tabComplete(sender, step.getAlias(), step.getArgs());
+      } catch (Throwable e) {
+        if (measure) {
+          ++failureCount;
+
+          if (firstFailure == null)
+            firstFailure = e;
+        }
+      }
+
+      long endNanos = System.nanoTime();
+
+      if (measure)
+        (isInvocation ? invocationLatencies : completionLatencies).record(endNanos - beginNanos);
+
+      return endNanos;
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.testsupport;
+
+import me.blvckbytes.bukkitcommands.BukkitCommand;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public class LoadDriverBuilder {
+
+  private final BukkitCommand command;
+  private final List<CommandSender> senders;
+  private @Nullable ILoadScenario scenario;
+  private @Nullable StandInScheduler scheduler;
+  private int threadCount;
+  private long warmupMillis, durationMillis, maxCalls, seed;
+
+  public LoadDriverBuilder(BukkitCommand command) {
+    this.command = command;
+    this.senders = new ArrayList<>();
+    this.threadCount = 1;
+    this.warmupMillis = 1000;
+    this.durationMillis = 5000;
+    this.maxCalls = Long.MAX_VALUE;
+  }
+
+  public LoadDriverBuilder withSender(CommandSender sender) {
+    senders.add(sender);
+    return this;
+  }
+
+  /**
+   * Adds senders to pick from uniformly at random for each call, such as {@link StandInServer#addPlayers}
+   */
+  public LoadDriverBuilder withSenders(Collection<? extends CommandSender> senders) {
+    this.senders.addAll(senders);
+    return this;
+  }
+
+  public LoadDriverBuilder withScenario(ILoadScenario scenario) {
+    this.scenario = scenario;
+    return this;
+  }
+
+  /**
+   * Replays the given steps in order on each thread, starting over once all steps have been issued
+   */
+  public LoadDriverBuilder withScript(LoadStep... steps) {
+    return withScript(Arrays.asList(steps));
+  }
+
+  public LoadDriverBuilder withScript(List<LoadStep> steps) {
+    if (steps.isEmpty())
+      throw new IllegalArgumentException("Scripts require at least one step");
+
+    LoadStep[] script = steps.toArray(new LoadStep[0]);
+    this.scenario = (callIndex, sender, random) -> script[(int) (callIndex % script.length)];
+    return this;
+  }
+
+  public LoadDriverBuilder withThreads(int threadCount) {
+    if (threadCount <= 0)
+      throw new IllegalArgumentException("At least one thread is required");
+
+    this.threadCount = threadCount;
+    return this;
+  }
+
+  /**
+   * Issues calls without measuring them for the given duration first, so that the JIT settles
+   */
+  public LoadDriverBuilder withWarmupMillis(long warmupMillis) {
+    this.warmupMillis = Math.max(0, warmupMillis);
+    return this;
+  }
+
+  public LoadDriverBuilder withDurationMillis(long durationMillis) {
+    if (durationMillis <= 0)
+      throw new IllegalArgumentException("The duration has to be positive");
+
+    this.durationMillis = durationMillis;
+    return this;
+  }
+
+  /**
+   * Ends measuring early once the given number of calls has been measured, split evenly among all threads
+   */
+  public LoadDriverBuilder withMaxCalls(long maxCalls) {
+    if (maxCalls <= 0)
+      throw new IllegalArgumentException("The maximum number of calls has to be positive");
+
+    this.maxCalls = maxCalls;
+    return this;
+  }
+
+  public LoadDriverBuilder withSeed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  /**
+   * Ticks the given scheduler every 50ms while running, such that work handed back
+   * to the main thread, for example by asynchronous handlers, gets to complete
+   */
+  public LoadDriverBuilder withTicking(StandInScheduler scheduler) {
+    this.scheduler = scheduler;
+    return this;
+  }
+
+  public LoadDriver build() {
+    if (senders.isEmpty())
+      throw new IllegalStateException("At least one sender is required");
+
+    if (scenario == null)
+      throw new IllegalStateException("Either a scenario or a script is required");
+
+    return new LoadDriver(
+      command,
+      senders.toArray(new CommandSender[0]),
+      scenario,
+      scheduler,
+      threadCount,
+      warmupMillis,
+      durationMillis,
+      maxCalls,
+      seed
+    );
+  }
+}
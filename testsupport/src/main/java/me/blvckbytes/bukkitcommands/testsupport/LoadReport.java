@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.testsupport;
+
+import me.blvckbytes.bukkitcommands.metrics.LatencyHistogram;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Outcome of a run of the {@link LoadDriver}, covering the measured calls only
+ */
+public class LoadReport {
+
+  private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+  private final int threadCount, senderCount;
+  private final long elapsedNanos, failureCount, allocatedBytes;
+  private final LatencyHistogram invocationLatencies, completionLatencies;
+  private final @Nullable Throwable firstFailure;
+
+  LoadReport(
+    int threadCount,
+    int senderCount,
+    long elapsedNanos,
+    LatencyHistogram invocationLatencies,
+    LatencyHistogram completionLatencies,
+    long failureCount,
+    @Nullable Throwable firstFailure,
+    long allocatedBytes
+  ) {
+    this.threadCount = threadCount;
+    this.senderCount = senderCount;
+    this.elapsedNanos = elapsedNanos;
+    this.invocationLatencies = invocationLatencies;
+    this.completionLatencies = completionLatencies;
+    this.failureCount = failureCount;
+    this.firstFailure = firstFailure;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  public int getThreadCount() {
+    return threadCount;
+  }
+
+  public int getSenderCount() {
+    return senderCount;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  public long getCallCount() {
+    return invocationLatencies.getCount() + completionLatencies.getCount();
+  }
+
+  /**
+   * @return Calls per second across all threads
+   */
+  public double getThroughput() {
+    return elapsedNanos == 0 ? 0 : getCallCount() * 1_000_000_000.0 / elapsedNanos;
+  }
+
+  public LatencyHistogram getInvocationLatencies() {
+    return invocationLatencies;
+  }
+
+  public LatencyHistogram getCompletionLatencies() {
+    return completionLatencies;
+  }
+
+  /**
+   * @return Number of calls which let an exception escape, as opposed to having handled it themselves
+   */
+  public long getFailureCount() {
+    return failureCount;
+  }
+
+  public @Nullable Throwable getFirstFailure() {
+    return firstFailure;
+  }
+
+  /**
+   * @return Whether the JVM supports measuring allocations per thread
+   */
+  public boolean isAllocationTracked() {
+    return allocatedBytes >= 0;
+  }
+
+  /**
+   * @return Bytes allocated per call on the calling thread, or NaN if allocations are not tracked
+   */
+  public double getAllocatedBytesPerCall() {
+    long callCount = getCallCount();
+
+    if (allocatedBytes < 0 || callCount == 0)
+      return Double.NaN;
+
+    return allocatedBytes / (double) callCount;
+  }
+
+  /**
+   * @return Human-readable summary of this report, spanning multiple lines
+   */
+  public String getSummary() {
+    StringBuilder result = new StringBuilder()
+      .append(String.format(Locale.ROOT, "%d thread(s) and %d sender(s) over %.2fs%n", threadCount, senderCount, elapsedNanos / 1_000_000_000.0))
+      .append(String.format(Locale.ROOT, "Calls: %d (%.1f/s), failures: %d%n", getCallCount(), getThroughput(), failureCount));
+
+    if (isAllocationTracked())
+      result.append(String.format(Locale.ROOT, "Allocation: %.1f B/call%n", getAllocatedBytesPerCall()));
+    else
+      result.append(String.format("Allocation: not supported by this JVM%n"));
+
+    appendLatencies(result, "Invocations", invocationLatencies);
+    appendLatencies(result, "Completions", completionLatencies);
+
+    return result.toString();
+  }
+
+  private static void appendLatencies(StringBuilder result, String name, LatencyHistogram latencies) {
+    result.append(name).append(": ").append(latencies.getCount());
+
+    if (latencies.getCount() != 0) {
+      result.append(String.format(Locale.ROOT, ", mean %.2fus", latencies.getMeanNanos() / 1000));
+
+      for (double percentile : PERCENTILES)
+        result.append(String.format(Locale.ROOT, ", p%s %.2fus", formatPercentile(percentile), latencies.getValueAtPercentile(percentile) / 1000.0));
+
+      result.append(String.format(Locale.ROOT, ", max %.2fus", latencies.getMaxNanos() / 1000.0));
+    }
+
+    result.append(System.lineSeparator());
+  }
+
+  private static String formatPercentile(double percentile) {
+    return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.testsupport;
+
+import me.blvckbytes.bukkitcommands.metrics.ECallKind;
+
+/**
+ * A single call of a command as issued by the {@link LoadDriver}, where the arguments are shared
+ * by all calls of this step, so that the driver itself doesn't allocate while measuring
+ */
+public class LoadStep {
+
+  private final ECallKind kind;
+  private final String alias;
+  private final String[] args;
+
+  public LoadStep(ECallKind kind, String alias, String[] args) {
+    this.kind = kind;
+    this.alias = alias;
+    this.args = args;
+  }
+
+  public static LoadStep execute(String alias, String... args) {
+    return new LoadStep(ECallKind.INVOCATION, alias, args);
+  }
+
+  /**
+   * @param args Arguments typed so far, where the last argument is the one to be completed, and may be empty
+   */
+  public static LoadStep complete(String alias, String... args) {
+    return new LoadStep(ECallKind.COMPLETION, alias, args);
+  }
+
+  public ECallKind getKind() {
+    return kind;
+  }
+
+  public String getAlias() {
+    return alias;
+  }
+
+  public String[] getArgs() {
+    return args;
+  }
+}
@@ -0,0 +1,318 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.testsupport;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stand-in for the scheduler, where synchronous tasks are queued until {@link #tick()} is called, which is
+ * when they run on the calling thread, while asynchronous tasks are handed to a pool of daemon threads.
+ */
+public class StandInScheduler implements InvocationHandler {
+
+  private static final long MILLIS_PER_TICK = 50;
+
+  private final BukkitScheduler scheduler;
+  private final Logger logger;
+  private final ScheduledExecutorService asyncExecutor;
+  private final PriorityQueue<Task> syncTasks;
+  private final Map<Integer, Task> taskById;
+  private final AtomicInteger nextTaskId;
+
+  // Both guarded by syncTasks
+  private long currentTick;
+  private long nextSequence;
+
+  StandInScheduler(Logger logger) {
+    this.logger = logger;
+    this.syncTasks = new PriorityQueue<>();
+    this.taskById = new ConcurrentHashMap<>();
+    this.nextTaskId = new AtomicInteger();
+
+    AtomicInteger threadCounter = new AtomicInteger();
+
+    this.asyncExecutor = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+      Thread thread = new Thread(runnable, "StandInScheduler-Async-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    this.scheduler = (BukkitScheduler) Proxy.newProxyInstance(
+      StandInScheduler.class.getClassLoader(),
+      new Class[] { BukkitScheduler.class },
+      this
+    );
+  }
+
+  public BukkitScheduler getScheduler() {
+    return scheduler;
+  }
+
+  /**
+   * Advances by one tick and runs all synchronous tasks which became due on the calling thread
+   * @return Number of tasks which have been run
+   */
+  public int tick() {
+    List<Task> dueTasks = new ArrayList<>();
+
+    synchronized (syncTasks) {
+      ++currentTick;
+
+      while (!syncTasks.isEmpty() && syncTasks.peek().dueTick <= currentTick)
+        dueTasks.add(syncTasks.poll());
+    }
+
+    int runCount = 0;
+
+    for (Task task : dueTasks) {
+      if (task.cancelled)
+        continue;
+
+      task.run();
+      ++runCount;
+
+      if (task.period > 0 && !task.cancelled)
+        enqueue(task, task.period);
+      else
+        taskById.remove(task.id);
+    }
+
+    return runCount;
+  }
+
+  public long getCurrentTick() {
+    synchronized (syncTasks) {
+      return currentTick;
+    }
+  }
+
+  public int getPendingSyncTaskCount() {
+    synchronized (syncTasks) {
+      return syncTasks.size();
+    }
+  }
+
+  /**
+   * Cancels all tasks and stops the threads of asynchronous tasks
+   */
+  public void shutdown() {
+    cancelAll(null);
+    asyncExecutor.shutdownNow();
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "runTask":
+        return scheduleSync(args[0], args[1], 0, 0).handle;
+      case "runTaskLater":
+        return scheduleSync(args[0], args[1], (long) args[2], 0).handle;
+      case "runTaskTimer":
+        return scheduleSync(args[0], args[1], (long) args[2], (long) args[3]).handle;
+      case "scheduleSyncDelayedTask":
+        return scheduleSync(args[0], args[1], args.length > 2 ? (long) args[2] : 0, 0).id;
+      case "scheduleSyncRepeatingTask":
+        return scheduleSync(args[0], args[1], (long) args[2], (long) args[3]).id;
+      case "runTaskAsynchronously":
+        return scheduleAsync(args[0], args[1], 0, 0).handle;
+      case "runTaskLaterAsynchronously":
+        return scheduleAsync(args[0], args[1], (long) args[2], 0).handle;
+      case "runTaskTimerAsynchronously":
+        return scheduleAsync(args[0], args[1], (long) args[2], (long) args[3]).handle;
+      case "scheduleAsyncDelayedTask":
+        return scheduleAsync(args[0], args[1], args.length > 2 ? (long) args[2] : 0, 0).id;
+      case "scheduleAsyncRepeatingTask":
+        return scheduleAsync(args[0], args[1], (long) args[2], (long) args[3]).id;
+      case "callSyncMethod": {
+        FutureTask<?> future = new FutureTask<>((Callable<?>) args[1]);
+        scheduleSync(args[0], future, 0, 0);
+        return future;
+      }
+      case "getMainThreadExecutor": {
+        Object plugin = args[0];
+        return (Executor) command -> scheduleSync(plugin, command, 0, 0);
+      }
+      case "cancelTask": {
+        Task task = taskById.get((int) args[0]);
+
+        if (task != null)
+          task.cancel();
+
+        return null;
+      }
+      case "cancelTasks":
+        cancelAll((Plugin) args[0]);
+        return null;
+      case "isQueued":
+        return taskById.containsKey((int) args[0]);
+      case "isCurrentlyRunning":
+        return false;
+      case "getPendingTasks": {
+        List<BukkitTask> result = new ArrayList<>();
+
+        for (Task task : taskById.values())
+          result.add(task.handle);
+
+        return result;
+      }
+      default:
+        return StandIns.invokeDefault(proxy, method, args);
+    }
+  }
+
+  //=========================================================================//
+  //                                Internals                                //
+  //=========================================================================//
+
+  private Task scheduleSync(Object owner, Object body, long delay, long period) {
+    Task task = new Task((Plugin) owner, body, true, period);
+    taskById.put(task.id, task);
+
+    // Tasks without a delay still run on the next tick, as with the server
+    enqueue(task, delay);
+    return task;
+  }
+
+  private Task scheduleAsync(Object owner, Object body, long delay, long period) {
+    Task task = new Task((Plugin) owner, body, false, period);
+    taskById.put(task.id, task);
+
+    if (period > 0)
+      task.future = asyncExecutor.scheduleAtFixedRate(task::run, delay * MILLIS_PER_TICK, period * MILLIS_PER_TICK, TimeUnit.MILLISECONDS);
+    else
+      task.future = asyncExecutor.schedule(() -> {
+        task.run();
+        taskById.remove(task.id);
+      }, delay * MILLIS_PER_TICK, TimeUnit.MILLISECONDS);
+
+    return task;
+  }
+
+  private void enqueue(Task task, long delay) {
+    synchronized (syncTasks) {
+      task.dueTick = currentTick + Math.max(1, delay);
+      task.sequence = nextSequence++;
+      syncTasks.add(task);
+    }
+  }
+
+  private void cancelAll(@Nullable Plugin owner) {
+    for (Task task : taskById.values()) {
+      if (owner == null || task.owner == owner)
+        task.cancel();
+    }
+  }
+
+  private class Task implements Comparable<Task> {
+
+    private final int id;
+    private final @Nullable Plugin owner;
+    private final Object body;
+    private final boolean sync;
+    private final long period;
+    private final BukkitTask handle;
+
+    private volatile boolean cancelled;
+    private volatile @Nullable Future<?> future;
+
+    // Guarded by syncTasks
+    private long dueTick, sequence;
+
+    private Task(@Nullable Plugin owner, Object body, boolean sync, long period) {
+      this.id = nextTaskId.incrementAndGet();
+      this.owner = owner;
+      this.body = body;
+      this.sync = sync;
+      this.period = period;
+      this.handle = (BukkitTask) Proxy.newProxyInstance(
+        StandInScheduler.class.getClassLoader(),
+        new Class[] { BukkitTask.class },
+        this::invokeHandle
+      );
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run() {
+      if (cancelled)
+        return;
+
+      try {
+        if (body instanceof Runnable)
+          ((Runnable) body).run();
+        else
+          ((Consumer<BukkitTask>) body).accept(handle);
+      } catch (Throwable e) {
+        logger.log(Level.WARNING, e, () -> "Task #" + id + " generated an exception");
+      }
+    }
+
+    private void cancel() {
+      cancelled = true;
+      taskById.remove(id);
+
+      Future<?> future = this.future;
+
+      if (future != null)
+        future.cancel(false);
+    }
+
+    private Object invokeHandle(Object proxy, Method method, Object[] args) {
+      switch (method.getName()) {
+        case "getTaskId":
+          return id;
+        case "getOwner":
+          return owner;
+        case "isSync":
+          return sync;
+        case "isCancelled":
+          return cancelled;
+        case "cancel":
+          cancel();
+          return null;
+        default:
+          return StandIns.invokeDefault(proxy, method, args);
+      }
+    }
+
+    @Override
+    public int compareTo(Task other) {
+      int result = Long.compare(dueTick, other.dueTick);
+      return result != 0 ? result : Long.compare(sequence, other.sequence);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.testsupport;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.Permission;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * State behind a stand-in sender, which may be a plain sender, a player or the console.
+ * Messages are only counted, apart from the last one, as load tests send plenty of them.
+ */
+public class StandInSender implements InvocationHandler {
+
+  private final String name;
+  private final @Nullable UUID uniqueId;
+  private final LongAdder messageCount;
+
+  // Null grants all permissions, as with an operator
+  private volatile @Nullable Predicate<String> permissions;
+  private volatile String locale;
+  private volatile @Nullable String lastMessage;
+  private volatile boolean online, playedBefore;
+
+  StandInSender(String name, @Nullable UUID uniqueId) {
+    this.name = name;
+    this.uniqueId = uniqueId;
+    this.messageCount = new LongAdder();
+    this.locale = "en_us";
+  }
+
+  /**
+   * @throws IllegalArgumentException If the sender has not been created by {@link StandIns} or {@link StandInServer}
+   */
+  public static StandInSender of(CommandSender sender) {
+    if (Proxy.isProxyClass(sender.getClass())) {
+      InvocationHandler handler = Proxy.getInvocationHandler(sender);
+
+      if (handler instanceof StandInSender)
+        return (StandInSender) handler;
+    }
+
+    throw new IllegalArgumentException("Not a stand-in sender: " + sender.getName());
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public @Nullable UUID getUniqueId() {
+    return uniqueId;
+  }
+
+  /**
+   * @param permissions Predicate deciding which permissions are held, or null to hold all permissions
+   */
+  public void setPermissions(@Nullable Predicate<String> permissions) {
+    this.permissions = permissions;
+  }
+
+  public String getLocale() {
+    return locale;
+  }
+
+  public void setLocale(String locale) {
+    this.locale = locale;
+  }
+
+  public long getMessageCount() {
+    return messageCount.sum();
+  }
+
+  public @Nullable String getLastMessage() {
+    return lastMessage;
+  }
+
+  public void resetMessages() {
+    messageCount.reset();
+    lastMessage = null;
+  }
+
+  public boolean isOnline() {
+    return online;
+  }
+
+  void setOnline(boolean online) {
+    this.online = online;
+
+    if (online)
+      this.playedBefore = true;
+  }
+
+  private boolean hasPermission(Object permission) {
+    Predicate<String> permissions = this.permissions;
+
+    if (permissions == null)
+      return true;
+
+    return permissions.test(permission instanceof Permission ? ((Permission) permission).getName() : String.valueOf(permission));
+  }
+
+  private void receive(Object message) {
+    if (message instanceof String[]) {
+      String[] messages = (String[]) message;
+
+      if (messages.length == 0)
+        return;
+
+      messageCount.add(messages.length);
+      lastMessage = messages[messages.length - 1];
+      return;
+    }
+
+    messageCount.increment();
+    lastMessage = String.valueOf(message);
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "getName":
+      case "getDisplayName":
+      case "getPlayerListName":
+        return name;
+      case "getUniqueId":
+        return uniqueId;
+      case "getLocale":
+        return locale;
+      case "hasPermission":
+        return hasPermission(args[0]);
+      case "isPermissionSet":
+        return permissions != null && hasPermission(args[0]);
+      case "isOp":
+        return permissions == null;
+      case "isOnline":
+      case "isValid":
+        return online;
+      case "hasPlayedBefore":
+        return playedBefore;
+      case "getPlayer":
+        return online ? proxy : null;
+      case "getServer":
+        return Bukkit.getServer();
+      case "sendMessage":
+      case "sendRawMessage":
+        // Overloads taking the sender's id lead with it
+        receive(args[args.length - 1]);
+        return null;
+      case "toString":
+        return (proxy instanceof Player ? "StandInPlayer{name=" : "StandInSender{name=") + name + "}";
+      default:
+        return StandIns.invokeDefault(proxy, method, args);
+    }
+  }
+}
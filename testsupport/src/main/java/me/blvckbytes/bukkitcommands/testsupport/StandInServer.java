@@ -0,0 +1,274 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.testsupport;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginManager;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Stand-in for the server, which keeps track of online players, offers a console sender as well as a
+ * scheduler and answers everything else with default values. As the server can only be set once per JVM,
+ * there's a single instance, which is obtained by {@link #install()}.
+ */
+public class StandInServer implements InvocationHandler {
+
+  private static @Nullable StandInServer installed;
+
+  private final Server server;
+  private final Logger logger;
+  private final StandInScheduler scheduler;
+  private final ConsoleCommandSender console;
+  private final PluginManager pluginManager;
+  private final Map<UUID, Player> playerById;
+  private final Map<String, Player> playerByLowerCaseName;
+  private final Collection<Player> onlinePlayers;
+
+  // Null makes all threads count as the primary thread
+  private volatile @Nullable Thread primaryThread;
+
+  private StandInServer() {
+    this.logger = Logger.getLogger("StandInServer");
+    this.scheduler = new StandInScheduler(logger);
+    this.playerById = new ConcurrentHashMap<>();
+    this.playerByLowerCaseName = new ConcurrentHashMap<>();
+    this.onlinePlayers = Collections.unmodifiableCollection(playerById.values());
+
+    this.console = (ConsoleCommandSender) Proxy.newProxyInstance(
+      StandInServer.class.getClassLoader(),
+      new Class[] { ConsoleCommandSender.class },
+      new StandInSender("CONSOLE", null)
+    );
+
+    this.pluginManager = (PluginManager) Proxy.newProxyInstance(
+      StandInServer.class.getClassLoader(),
+      new Class[] { PluginManager.class },
+      StandIns::invokeDefault
+    );
+
+    this.server = (Server) Proxy.newProxyInstance(
+      StandInServer.class.getClassLoader(),
+      new Class[] { Server.class },
+      this
+    );
+  }
+
+  /**
+   * Installs the stand-in server if no server has been installed yet
+   * @return The installed stand-in server
+   * @throws IllegalStateException If a server other than the stand-in has already been installed
+   */
+  public static synchronized StandInServer install() {
+    if (installed != null)
+      return installed;
+
+    if (Bukkit.getServer() != null)
+      throw new IllegalStateException("A server other than the stand-in has already been installed");
+
+    StandInServer result = new StandInServer();
+    Bukkit.setServer(result.server);
+    installed = result;
+    return result;
+  }
+
+  public Server getServer() {
+    return server;
+  }
+
+  public Logger getLogger() {
+    return logger;
+  }
+
+  public StandInScheduler getScheduler() {
+    return scheduler;
+  }
+
+  public ConsoleCommandSender getConsole() {
+    return console;
+  }
+
+  public Collection<Player> getOnlinePlayers() {
+    return onlinePlayers;
+  }
+
+  /**
+   * @param primaryThread Thread to be considered the server thread, or null to consider all threads as such
+   */
+  public void setPrimaryThread(@Nullable Thread primaryThread) {
+    this.primaryThread = primaryThread;
+  }
+
+  /**
+   * Creates a player with the id it would have on a server in offline mode and brings it online
+   * @throws IllegalStateException If a player of the same name is already online
+   */
+  public Player addPlayer(String name) {
+    Player player = StandIns.player(name);
+
+    if (playerByLowerCaseName.putIfAbsent(name.toLowerCase(Locale.ROOT), player) != null)
+      throw new IllegalStateException("A player named " + name + " is already online");
+
+    playerById.put(player.getUniqueId(), player);
+    StandInSender.of(player).setOnline(true);
+    return player;
+  }
+
+  /**
+   * Brings the given number of players online, named by the prefix followed by their index
+   */
+  public List<Player> addPlayers(String namePrefix, int count) {
+    List<Player> result = new ArrayList<>(count);
+
+    for (int index = 0; index < count; index++)
+      result.add(addPlayer(namePrefix + index));
+
+    return result;
+  }
+
+  public boolean removePlayer(Player player) {
+    if (!playerById.remove(player.getUniqueId(), player))
+      return false;
+
+    playerByLowerCaseName.remove(player.getName().toLowerCase(Locale.ROOT));
+    StandInSender.of(player).setOnline(false);
+    return true;
+  }
+
+  public void removeAllPlayers() {
+    for (Player player : playerById.values())
+      removePlayer(player);
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "getName":
+        return "StandInServer";
+      case "getVersion":
+      case "getBukkitVersion":
+        return "stand-in";
+      case "getLogger":
+        return logger;
+      case "isPrimaryThread": {
+        Thread primaryThread = this.primaryThread;
+        return primaryThread == null || primaryThread == Thread.currentThread();
+      }
+      case "getOnlinePlayers":
+        return onlinePlayers;
+      case "getMaxPlayers":
+        return Integer.MAX_VALUE;
+      case "getPlayer":
+        if (args[0] instanceof UUID)
+          return playerById.get(args[0]);
+
+        return findPlayer((String) args[0]);
+      case "getPlayerExact":
+        return playerByLowerCaseName.get(((String) args[0]).toLowerCase(Locale.ROOT));
+      case "matchPlayer":
+        return matchPlayers((String) args[0]);
+      case "getOfflinePlayer":
+        return getOfflinePlayer(args[0]);
+      case "getScheduler":
+        return scheduler.getScheduler();
+      case "getConsoleSender":
+        return console;
+      case "getPluginManager":
+        return pluginManager;
+      case "getOnlineMode":
+        return false;
+      default:
+        return StandIns.invokeDefault(proxy, method, args);
+    }
+  }
+
+  //=========================================================================//
+  //                                Internals                                //
+  //=========================================================================//
+
+  /**
+   * Looks up a player by name like the server does, which is by exact name first
+   * and by the shortest name starting with the given name second
+   */
+  private @Nullable Player findPlayer(String name) {
+    String lowerCaseName = name.toLowerCase(Locale.ROOT);
+    Player result = playerByLowerCaseName.get(lowerCaseName);
+
+    if (result != null)
+      return result;
+
+    int shortestLength = Integer.MAX_VALUE;
+
+    for (Player player : playerById.values()) {
+      String playerName = player.getName();
+
+      if (playerName.length() < shortestLength && playerName.toLowerCase(Locale.ROOT).startsWith(lowerCaseName)) {
+        result = player;
+        shortestLength = playerName.length();
+      }
+    }
+
+    return result;
+  }
+
+  private List<Player> matchPlayers(String name) {
+    Player exact = playerByLowerCaseName.get(name.toLowerCase(Locale.ROOT));
+
+    if (exact != null)
+      return Collections.singletonList(exact);
+
+    List<Player> result = new ArrayList<>();
+    String lowerCaseName = name.toLowerCase(Locale.ROOT);
+
+    for (Player player : playerById.values()) {
+      if (player.getName().toLowerCase(Locale.ROOT).contains(lowerCaseName))
+        result.add(player);
+    }
+
+    return result;
+  }
+
+  /**
+   * Offline players are never null on the server, so unknown players are created on the fly
+   */
+  private Player getOfflinePlayer(Object nameOrId) {
+    if (nameOrId instanceof UUID) {
+      Player player = playerById.get(nameOrId);
+      return player != null ? player : StandIns.player(((UUID) nameOrId).toString(), (UUID) nameOrId);
+    }
+
+    Player player = playerByLowerCaseName.get(((String) nameOrId).toLowerCase(Locale.ROOT));
+    return player != null ? player : StandIns.player((String) nameOrId);
+  }
+}
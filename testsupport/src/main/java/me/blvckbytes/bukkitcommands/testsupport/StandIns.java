@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2023 BlvckBytes
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.blvckbytes.bukkitcommands.testsupport;
+
+import me.blvckbytes.bukkitcommands.config.ACommandSection;
+import me.blvckbytes.bukkitcommands.config.CommandErrorMessagesSection;
+import me.blvckbytes.bukkitcommands.config.RateLimitSection;
+import me.blvckbytes.bukkitevaluable.BukkitEvaluable;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Lightweight local stand-ins for the server environment, such that commands can be
+ * benchmarked and load-tested outside of a server
+ */
+public final class StandIns {
+
+  private StandIns() {}
+
+  /**
+   * Creates a sender which is neither a player nor the console and holds all permissions
+   */
+  public static CommandSender commandSender(String name) {
+    return (CommandSender) Proxy.newProxyInstance(
+      StandIns.class.getClassLoader(),
+      new Class[] { CommandSender.class },
+      new StandInSender(name, null)
+    );
+  }
+
+  /**
+   * Creates a player which holds all permissions but is not online, see {@link StandInServer#addPlayer}
+   */
+  public static Player player(String name) {
+    return player(name, offlineUniqueId(name));
+  }
+
+  public static Player player(String name, UUID uniqueId) {
+    return (Player) Proxy.newProxyInstance(
+      StandIns.class.getClassLoader(),
+      new Class[] { Player.class },
+      new StandInSender(name, uniqueId)
+    );
+  }
+
+  /**
+   * Installs the stand-in server if no server has been installed yet, see {@link StandInServer#install}
+   */
+  public static StandInServer installServer() {
+    return StandInServer.install();
+  }
+
+  /**
+   * Creates a command section as if it had been read from the config, with one
+   * plain message per error type and usages for the first three arguments
+   */
+  public static ACommandSection commandSection(String name) {
+    try {
+      CommandErrorMessagesSection errorMessages = new CommandErrorMessagesSection();
+
+      for (Field field : CommandErrorMessagesSection.class.getDeclaredFields()) {
+        if (field.getType() != BukkitEvaluable.class)
+          continue;
+
+        field.setAccessible(true);
+        field.set(errorMessages, BukkitEvaluable.of("§cError: " + field.getName()));
+      }
+
+      Map<String, BukkitEvaluable> argumentUsages = new HashMap<>();
+
+      for (int index = 1; index <= 3; index++)
+        argumentUsages.put(String.valueOf(index), BukkitEvaluable.of("§7/" + name + " §c<argument " + index + ">"));
+
+      ACommandSection section = new ACommandSection(name) {};
+
+      setField(section, "name", name);
+      setField(section, "description", "Benchmark command");
+      setField(section, "usage", "");
+      setField(section, "aliases", Collections.singletonList(name.substring(0, 1)));
+      setField(section, "argumentUsages", argumentUsages);
+      setField(section, "errorMessages", errorMessages);
+
+      // Unconfigured limits, as benchmarks invoke commands way beyond any sensible rate
+      setField(section, "invocationRateLimit", new RateLimitSection());
+      setField(section, "completionRateLimit", new RateLimitSection());
+
+      errorMessages.afterParsing(Collections.emptyList());
+      section.afterParsing(Collections.emptyList());
+
+      return section;
+    } catch (Exception e) {
+      throw new IllegalStateException("Could not create a stand-in command section", e);
+    }
+  }
+
+  private static void setField(ACommandSection section, String name, Object value) throws Exception {
+    Field field = ACommandSection.class.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(section, value);
+  }
+
+  /**
+   * @return Unique id of the player with the given name on a server in offline mode
+   */
+  static UUID offlineUniqueId(String name) {
+    return UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Handles the methods of {@link Object} on a proxy and answers all other methods with their
+   * default value, such that stand-ins only need to implement what they actually make use of
+   */
+  static Object invokeDefault(Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "equals":
+        return proxy == args[0];
+      case "toString":
+        return proxy.getClass().getInterfaces()[0].getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+      default:
+        return defaultValue(method.getReturnType());
+    }
+  }
+
+  private static Object defaultValue(Class<?> type) {
+    if (type == boolean.class)
+      return false;
+
+    if (type == int.class || type == short.class || type == byte.class)
+      return 0;
+
+    if (type == long.class)
+      return 0L;
+
+    if (type == double.class)
+      return 0D;
+
+    if (type == float.class)
+      return 0F;
+
+    if (type == char.class)
+      return '\0';
+
+    if (type == String.class)
+      return "";
+
+    if (type == List.class || type == Collection.class)
+      return Collections.emptyList();
+
+    if (type == Set.class)
+      return Collections.emptySet();
+
+    if (type == Map.class)
+      return Collections.emptyMap();
+
+    return null;
+  }
+}